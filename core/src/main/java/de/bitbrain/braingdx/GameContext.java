@@ -82,5 +82,17 @@ public interface GameContext {
 
    PhysicsManager getPhysicsManager();
 
+   /**
+    * Sets the fixed time step the game world is simulated with. Rendering interpolates
+    * between the last two simulation steps. The fixed time step is disabled by default:
+    * a time step of 0 simulates once per frame with the variable frame delta.
+    * Game objects driven by tweens are updated once per frame and are not interpolated.
+    *
+    * @param timeStep the fixed time step in seconds
+    */
+   void setFixedTimeStep(float timeStep);
+
+   float getFixedTimeStep();
+
    void updateAndRender(float delta);
 }
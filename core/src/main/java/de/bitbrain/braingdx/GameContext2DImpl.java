@@ -52,6 +52,7 @@ import de.bitbrain.braingdx.screens.ScreenTransitions;
 import de.bitbrain.braingdx.tmx.TiledMapManager;
 import de.bitbrain.braingdx.tmx.TiledMapManagerImpl;
 import de.bitbrain.braingdx.tweens.SharedTweenManager;
+import de.bitbrain.braingdx.util.FixedTimeStep;
 import de.bitbrain.braingdx.util.Resizeable;
 import de.bitbrain.braingdx.util.ViewportFactory;
 import de.bitbrain.braingdx.world.GameWorld;
@@ -64,6 +65,11 @@ import de.bitbrain.braingdx.world.GameWorld;
  */
 public class GameContext2DImpl implements GameContext, Disposable, Resizeable {
 
+   /**
+    * the recommended fixed time step of the simulation (see {@link #setFixedTimeStep(float)})
+    */
+   public static final float DEFAULT_FIXED_TIME_STEP = 1f / 60f;
+
    private final GameWorld world;
    private final BehaviorManager behaviorManager;
    private final GameObjectRenderManager renderManager;
@@ -79,11 +85,12 @@ public class GameContext2DImpl implements GameContext, Disposable, Resizeable {
    private final TiledMapManager tiledMapManager;
    private final TweenManager tweenManager = SharedTweenManager.getInstance();
    private final InputManagerImpl inputManager;
-   private final GameEventManager eventManager;
+   private final GameEventManagerImpl eventManager;
    private final AudioManager audioManager;
    private final GameSettings settings;
    private final ShaderManager shaderManager;
    private final PhysicsManagerImpl physicsManager;
+   private final FixedTimeStep fixedTimeStep = new FixedTimeStep(0f);
 
    public GameContext2DImpl(ViewportFactory viewportFactory, ShaderConfig shaderConfig) {
       eventManager = new GameEventManagerImpl();
@@ -93,9 +100,11 @@ public class GameContext2DImpl implements GameContext, Disposable, Resizeable {
       uiCamera = new OrthographicCamera();
       world = new GameWorld(camera);
       behaviorManager = new BehaviorManager(world);
+      behaviorManager.setLodCamera(camera);
       batch = new SpriteBatch();
       inputManager = new InputManagerImpl();
       renderManager = new GameObjectRenderManager(batch);
+      renderManager.setCullingCamera(camera);
       gameCamera = new VectorGameCamera(camera, world);
       particleManager = new ParticleManager(behaviorManager);
       stage = new Stage(viewportFactory.create(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), uiCamera));
@@ -208,15 +217,33 @@ public class GameContext2DImpl implements GameContext, Disposable, Resizeable {
       tweenManager.killAll();
       renderManager.dispose();
       eventManager.clear();
+      eventManager.dispose();
       physicsManager.dispose();
       lightingManager.dispose();
+      behaviorManager.dispose();
+   }
+
+   @Override
+   public void setFixedTimeStep(float timeStep) {
+      fixedTimeStep.setTimeStep(timeStep);
+   }
+
+   @Override
+   public float getFixedTimeStep() {
+      return fixedTimeStep.getTimeStep();
    }
 
    @Override
    public void updateAndRender(float delta) {
-      physicsManager.update(delta);
+      world.flush();
+      renderManager.resetStatistics();
       inputManager.update(delta);
-      behaviorManager.update(delta);
+      final float timeStep = fixedTimeStep.isEnabled() ? fixedTimeStep.getTimeStep() : delta;
+      for (int steps = fixedTimeStep.advance(delta); steps > 0; --steps) {
+         simulate(timeStep);
+      }
+      world.setInterpolationAlpha(fixedTimeStep.getAlpha());
+      // tweens run once per frame on the raw state, game objects tweened by them are not interpolated
       tweenManager.update(delta);
       gameCamera.update(delta);
       uiCamera.update();
@@ -226,6 +253,13 @@ public class GameContext2DImpl implements GameContext, Disposable, Resizeable {
       renderPipeline.render(batch, delta);
    }
 
+   private void simulate(float timeStep) {
+      physicsManager.update(timeStep);
+      behaviorManager.update(timeStep);
+      world.update(timeStep);
+      eventManager.flush();
+   }
+
    @Override
    public void resize(int width, int height) {
       gameCamera.resize(width, height);
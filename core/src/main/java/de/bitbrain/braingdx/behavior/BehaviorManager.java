@@ -15,162 +15,547 @@
 
 package de.bitbrain.braingdx.behavior;
 
-import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import de.bitbrain.braingdx.util.CommandBuffer;
+import de.bitbrain.braingdx.util.Profiler;
+import de.bitbrain.braingdx.util.ReflectionUtils;
 import de.bitbrain.braingdx.util.Updateable;
 import de.bitbrain.braingdx.world.GameObject;
 import de.bitbrain.braingdx.world.GameWorld;
 
-import java.util.*;
-import java.util.Map.Entry;
-
 /**
  * Manages behavior of game objects.
  *
  * @author Miguel Gonzalez Sanchez
  * @version 1.0.0
  */
-public class BehaviorManager {
+public class BehaviorManager implements Disposable {
+
+   /**
+    * the minimum number of isolated behaviors which get updated in parallel
+    */
+   public static final int PARALLEL_THRESHOLD = 256;
+
+   private static final int COMMAND_ATTACH = 0;
+   private static final int COMMAND_ATTACH_GLOBAL = 1;
+   private static final int COMMAND_DETACH = 2;
+   private static final int COMMAND_DETACH_GLOBAL = 3;
+   private static final int COMMAND_DETACH_ALL = 4;
+   private static final int COMMAND_ATTACH_SCHEDULED = 5;
+
+   private final Array<Behavior> globalBehaviors = new Array<Behavior>();
+
+   private final Array<Behavior> globalPairwiseBehaviors = new Array<Behavior>();
 
-   private final Set<Behavior> globalBehaviors;
+   private final Array<PairFilter> globalPairFilters = new Array<PairFilter>();
 
-   private final Set<Updateable> updateables;
+   private final Array<Updateable> updateables = new Array<Updateable>();
 
-   private final Map<String, List<Behavior>> localBehaviors;
+   // local behaviors indexed by the slot of their game object
+   private LocalBehaviors[] localBehaviors = new LocalBehaviors[64];
 
    private final GameWorld world;
 
+   private final CommandBuffer commands;
+
+   private final Array<Behavior> isolatedBehaviors = new Array<Behavior>(false, 64);
+
+   private final Array<GameObject> isolatedSources = new Array<GameObject>(false, 64);
+
+   // schedules of the isolated behaviors at the same index, null updates every frame
+   private final Array<ScheduledUpdate> isolatedSchedules = new Array<ScheduledUpdate>(false, 64);
+
+   private final Array<IsolatedChunk> chunks = new Array<IsolatedChunk>();
+
+   private final Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>();
+
+   private int parallelism = Runtime.getRuntime().availableProcessors();
+
+   private AsyncExecutor asyncExecutor;
+
+   private Camera lodCamera;
+
+   private Profiler profiler;
+
+   private final CommandBuffer.Executor executor = new CommandBuffer.Executor() {
+      @Override
+      public void execute(int opcode, long value, Object a, Object b) {
+         switch (opcode) {
+            case COMMAND_ATTACH:
+               attach((Behavior) a, value, (GameObject) b, null);
+               break;
+            case COMMAND_ATTACH_SCHEDULED:
+               attach((Behavior) a, value, world.getObjectByHandle(value), (UpdateSchedule) b);
+               break;
+            case COMMAND_ATTACH_GLOBAL:
+               attach((Behavior) a);
+               break;
+            case COMMAND_DETACH:
+               detach((Behavior) a, value, (GameObject) b);
+               break;
+            case COMMAND_DETACH_GLOBAL:
+               detach((Behavior) a);
+               break;
+            case COMMAND_DETACH_ALL:
+               detachAll(value, (GameObject) b);
+               break;
+         }
+      }
+   };
+
    public BehaviorManager(GameWorld world) {
       this.world = world;
-      globalBehaviors = new HashSet<Behavior>();
-      updateables = new HashSet<Updateable>();
-      localBehaviors = new HashMap<String, List<Behavior>>();
-   }
-
-   public void apply(final Behavior behavior, final GameObject source) {
-      final String id = source.getId();
-      Gdx.app.postRunnable(new Runnable() {
-         @Override
-         public void run() {
-            List<Behavior> behaviors = localBehaviors.get(id);
-            if (behaviors == null) {
-               behaviors = new ArrayList<Behavior>();
-               localBehaviors.put(id, behaviors);
-            }
-            behaviors.add(behavior);
-            if (behavior instanceof Updateable) {
-               updateables.add((Updateable) behavior);
-            }
-            behavior.onAttach(source);
-            for (Behavior behavior : globalBehaviors) {
-               behavior.onAttach(source);
-            }
+      this.commands = world.getCommandBuffer();
+   }
+
+   public void apply(Behavior behavior, GameObject source) {
+      commands.enqueue(executor, COMMAND_ATTACH, source.getHandle(), behavior, source);
+   }
+
+   /**
+    * Applies the given behavior to the source, which is updated according to the given schedule
+    * instead of the schedule of the behavior itself.
+    *
+    * @param schedule the schedule of this application, null updates the behavior every frame
+    */
+   public void apply(Behavior behavior, GameObject source, UpdateSchedule schedule) {
+      if (schedule == null) {
+         commands.enqueue(executor, COMMAND_ATTACH, source.getHandle(), behavior, source);
+      } else {
+         commands.enqueue(executor, COMMAND_ATTACH_SCHEDULED, source.getHandle(), behavior, schedule);
+      }
+   }
+
+   public void apply(Behavior behavior) {
+      commands.enqueue(executor, COMMAND_ATTACH_GLOBAL, 0L, behavior, null);
+   }
+
+   public void remove(Behavior behavior) {
+      commands.enqueue(executor, COMMAND_DETACH_GLOBAL, 0L, behavior, null);
+   }
+
+   public void remove(GameObject source, Behavior behavior) {
+      commands.enqueue(executor, COMMAND_DETACH, source.getHandle(), behavior, source);
+   }
+
+   public void remove(GameObject source) {
+      commands.enqueue(executor, COMMAND_DETACH_ALL, source.getHandle(), null, source);
+   }
+
+   /**
+    * Sets the number of threads isolated behaviors are updated with.
+    *
+    * @param parallelism the number of threads, 1 updates isolated behaviors on the calling thread
+    */
+   public void setParallelism(int parallelism) {
+      parallelism = Math.max(1, parallelism);
+      if (parallelism != this.parallelism) {
+         this.parallelism = parallelism;
+         dispose();
+      }
+   }
+
+   public int getParallelism() {
+      return parallelism;
+   }
+
+   /**
+    * Sets the camera distance based {@link UpdateSchedule}s are measured from. Without a camera
+    * the near interval applies.
+    */
+   public void setLodCamera(Camera camera) {
+      this.lodCamera = camera;
+   }
+
+   public Camera getLodCamera() {
+      return lodCamera;
+   }
+
+   /**
+    * Measures every behavior update with the given profiler.
+    *
+    * @param profiler the profiler to record with or null to disable profiling
+    */
+   public void setProfiler(Profiler profiler) {
+      this.profiler = profiler;
+   }
+
+   public Profiler getProfiler() {
+      return profiler;
+   }
+
+   public void update(float delta) {
+      for (int i = 0; i < updateables.size; ++i) {
+         Updateable updateable = updateables.get(i);
+         if (profiler == null) {
+            updateable.update(delta);
+         } else {
+            long start = System.nanoTime();
+            updateable.update(delta);
+            profiler.record(updateable.getClass(), start);
          }
-      });
+      }
    }
 
-   public void apply(final Behavior behavior) {
-      Gdx.app.postRunnable(new Runnable() {
-         @Override
-         public void run() {
-            if (behavior instanceof Updateable) {
-               updateables.add((Updateable) behavior);
+   public void updateGlobally(GameObject source, float delta) {
+      for (int i = 0; i < globalBehaviors.size; ++i) {
+         update(globalBehaviors.get(i), source, delta);
+      }
+   }
+
+   /**
+    * Updates all local behaviors of the given source, except {@link IsolatedBehavior}s which
+    * are updated within {@link #updateIsolated(float)}.
+    */
+   public void updateLocally(GameObject source, float delta) {
+      LocalBehaviors local = get(source.getHandle());
+      if (local != null) {
+         for (int i = 0; i < local.sequential.size; ++i) {
+            ScheduledUpdate schedule = local.schedules.get(i);
+            if (schedule == null) {
+               update(local.sequential.get(i), source, delta);
+            } else {
+               float elapsed = schedule.advance(source, lodCamera, delta);
+               if (elapsed >= 0f) {
+                  update(local.sequential.get(i), source, elapsed);
+               }
             }
-            globalBehaviors.add(behavior);
          }
-      });
+      }
    }
 
-   public void remove(final Behavior behavior) {
-      Gdx.app.postRunnable(new Runnable() {
-         @Override
-         public void run() {
-            if (behavior instanceof Updateable) {
-               updateables.remove(behavior);
+   /**
+    * @return true if any global behavior or any local behavior of the given source consumes
+    * pairwise updates
+    */
+   public boolean isUpdatingPairs(GameObject source) {
+      for (int i = 0; i < globalPairFilters.size; ++i) {
+         PairFilter filter = globalPairFilters.get(i);
+         if (filter == null || filter.acceptsSource(source)) {
+            return true;
+         }
+      }
+      LocalBehaviors local = get(source.getHandle());
+      if (local != null) {
+         for (int i = 0; i < local.pairFilters.size; ++i) {
+            PairFilter filter = local.pairFilters.get(i);
+            if (filter == null || filter.acceptsSource(source)) {
+               return true;
             }
-            globalBehaviors.remove(behavior);
          }
-      });
-   }
-
-   public void remove(final GameObject source, final Behavior behavior) {
-      final String id = source.getId();
-      Gdx.app.postRunnable(new Runnable() {
-         @Override
-         public void run() {
-            List<Behavior> behaviors = localBehaviors.get(id);
-            if (behaviors != null && behaviors.contains(behavior)) {
-               behaviors.remove(behavior);
-               behavior.onDetach(source);
+      }
+      return false;
+   }
+
+   public void updateLocallyCompared(GameObject source, GameObject target, float delta) {
+      LocalBehaviors local = get(source.getHandle());
+      if (local != null) {
+         for (int i = 0; i < local.pairwise.size; ++i) {
+            PairFilter filter = local.pairFilters.get(i);
+            if (filter == null || filter.accepts(source, target)) {
+               update(local.pairwise.get(i), source, target, delta);
             }
          }
-      });
-   }
-
-   public void remove(final GameObject source) {
-      final String id = source.getId();
-      Gdx.app.postRunnable(new Runnable() {
-         @Override
-         public void run() {
-            List<Behavior> behaviors = localBehaviors.remove(id);
-            if (behaviors != null) {
-               for (Behavior behavior : behaviors) {
-                  if (behavior instanceof Updateable) {
-                     updateables.remove(behavior);
-                  }
-                  behavior.onDetach(source);
-               }
+      }
+   }
+
+   public void updateGloballyCompared(GameObject source, GameObject target, float delta) {
+      for (int i = 0; i < globalPairwiseBehaviors.size; ++i) {
+         PairFilter filter = globalPairFilters.get(i);
+         if (filter == null || filter.accepts(source, target)) {
+            update(globalPairwiseBehaviors.get(i), source, target, delta);
+         }
+      }
+   }
+
+   private void attach(Behavior behavior, long handle, GameObject source, UpdateSchedule schedule) {
+      if (source == null || world.getObjectByHandle(handle) != source) {
+         // the game object has been removed in the meantime
+         return;
+      }
+      int slot = source.getSlot();
+      if (slot >= localBehaviors.length) {
+         LocalBehaviors[] grown = new LocalBehaviors[Math.max(slot + 1, localBehaviors.length * 2)];
+         System.arraycopy(localBehaviors, 0, grown, 0, localBehaviors.length);
+         localBehaviors = grown;
+      }
+      LocalBehaviors local = localBehaviors[slot];
+      if (local == null) {
+         local = new LocalBehaviors();
+         localBehaviors[slot] = local;
+      }
+      if (local.handle != handle) {
+         // the slot has been used by a previous game object
+         local.clear();
+         local.handle = handle;
+      }
+      if (schedule == null && behavior instanceof ScheduledBehavior) {
+         schedule = ((ScheduledBehavior) behavior).getUpdateSchedule();
+      }
+      ScheduledUpdate scheduled = schedule != null ? new ScheduledUpdate(schedule, slot) : null;
+      local.all.add(behavior);
+      if (!(behavior instanceof IsolatedBehavior)) {
+         local.sequential.add(behavior);
+         local.schedules.add(scheduled);
+      }
+      if (isPairwise(behavior)) {
+         local.pairwise.add(behavior);
+         local.pairFilters.add(filterOf(behavior));
+      }
+      if (behavior instanceof Updateable && !updateables.contains((Updateable) behavior, true)) {
+         updateables.add((Updateable) behavior);
+      }
+      if (behavior instanceof IsolatedBehavior) {
+         isolatedBehaviors.add(behavior);
+         isolatedSources.add(source);
+         isolatedSchedules.add(scheduled);
+      }
+      source.wake();
+      behavior.onAttach(source);
+      for (int i = 0; i < globalBehaviors.size; ++i) {
+         globalBehaviors.get(i).onAttach(source);
+      }
+   }
+
+   private void attach(Behavior behavior) {
+      if (globalBehaviors.contains(behavior, true)) {
+         return;
+      }
+      if (behavior instanceof Updateable && !updateables.contains((Updateable) behavior, true)) {
+         updateables.add((Updateable) behavior);
+      }
+      globalBehaviors.add(behavior);
+      if (isPairwise(behavior)) {
+         globalPairwiseBehaviors.add(behavior);
+         globalPairFilters.add(filterOf(behavior));
+      }
+   }
+
+   private void detach(Behavior behavior, long handle, GameObject source) {
+      LocalBehaviors local = get(handle);
+      if (local != null && local.all.removeValue(behavior, true)) {
+         int index = local.sequential.indexOf(behavior, true);
+         if (index >= 0) {
+            local.sequential.removeIndex(index);
+            local.schedules.removeIndex(index);
+         }
+         index = local.pairwise.indexOf(behavior, true);
+         if (index >= 0) {
+            local.pairwise.removeIndex(index);
+            local.pairFilters.removeIndex(index);
+         }
+         removeIsolated(behavior, source);
+         behavior.onDetach(source);
+      }
+   }
+
+   private void detach(Behavior behavior) {
+      if (behavior instanceof Updateable) {
+         updateables.removeValue((Updateable) behavior, true);
+      }
+      globalBehaviors.removeValue(behavior, true);
+      int index = globalPairwiseBehaviors.indexOf(behavior, true);
+      if (index >= 0) {
+         globalPairwiseBehaviors.removeIndex(index);
+         globalPairFilters.removeIndex(index);
+      }
+   }
+
+   private void detachAll(long handle, GameObject source) {
+      LocalBehaviors local = get(handle);
+      if (local != null) {
+         for (int i = 0; i < local.all.size; ++i) {
+            Behavior behavior = local.all.get(i);
+            if (behavior instanceof Updateable) {
+               updateables.removeValue((Updateable) behavior, true);
             }
-            for (Behavior behavior : globalBehaviors) {
-               behavior.onDetach(source);
+            removeIsolated(behavior, source);
+            behavior.onDetach(source);
+         }
+         local.clear();
+      }
+      for (int i = 0; i < globalBehaviors.size; ++i) {
+         globalBehaviors.get(i).onDetach(source);
+      }
+   }
+
+   public void clear() {
+      for (LocalBehaviors local : localBehaviors) {
+         if (local != null && local.all.size > 0) {
+            GameObject source = world.getObjectByHandle(local.handle);
+            for (int i = 0; i < local.all.size; ++i) {
+               local.all.get(i).onDetach(source);
             }
+            local.clear();
          }
-      });
+      }
+      globalBehaviors.clear();
+      globalPairwiseBehaviors.clear();
+      globalPairFilters.clear();
+      isolatedBehaviors.clear();
+      isolatedSources.clear();
+      isolatedSchedules.clear();
    }
 
-   public void update(float delta) {
-      for (Updateable updateable : updateables) {
-         updateable.update(delta);
+   @Override
+   public void dispose() {
+      if (asyncExecutor != null) {
+         asyncExecutor.dispose();
+         asyncExecutor = null;
       }
    }
 
-   public void updateGlobally(GameObject source, float delta) {
-      for (Behavior behavior : globalBehaviors) {
+   private LocalBehaviors get(long handle) {
+      int slot = (int) handle;
+      if (slot < 0 || slot >= localBehaviors.length) {
+         return null;
+      }
+      LocalBehaviors local = localBehaviors[slot];
+      return local != null && local.handle == handle ? local : null;
+   }
+
+   private void update(Behavior behavior, GameObject source, float delta) {
+      if (profiler == null) {
+         behavior.update(source, delta);
+      } else {
+         long start = System.nanoTime();
          behavior.update(source, delta);
+         profiler.record(behavior.getClass(), start);
       }
    }
 
-   public void updateLocally(GameObject source, float delta) {
-      List<Behavior> behaviors = localBehaviors.get(source.getId());
-      if (behaviors != null) {
-         for (Behavior behavior : behaviors) {
-            behavior.update(source, delta);
-         }
+   private void update(Behavior behavior, GameObject source, GameObject target, float delta) {
+      if (profiler == null) {
+         behavior.update(source, target, delta);
+      } else {
+         long start = System.nanoTime();
+         behavior.update(source, target, delta);
+         profiler.record(behavior.getClass(), Profiler.Phase.PAIRWISE_UPDATE, start);
       }
+   }
 
+   private static PairFilter filterOf(Behavior behavior) {
+      return behavior instanceof FilteredBehavior ? ((FilteredBehavior) behavior).getPairFilter() : null;
    }
 
-   public void updateLocallyCompared(GameObject source, GameObject target, float delta) {
-      List<Behavior> behaviors = localBehaviors.get(source.getId());
-      if (behaviors != null) {
-         for (Behavior behavior : behaviors) {
-            behavior.update(source, target, delta);
+   private static boolean isPairwise(Behavior behavior) {
+      return ReflectionUtils.overrides(behavior.getClass(), BehaviorAdapter.class, "update",
+            GameObject.class, GameObject.class, float.class);
+   }
+
+   private void removeIsolated(Behavior behavior, GameObject source) {
+      if (!(behavior instanceof IsolatedBehavior)) {
+         return;
+      }
+      for (int i = 0; i < isolatedBehaviors.size; ++i) {
+         if (isolatedBehaviors.get(i) == behavior && isolatedSources.get(i) == source) {
+            isolatedBehaviors.removeIndex(i);
+            isolatedSources.removeIndex(i);
+            isolatedSchedules.removeIndex(i);
+            return;
          }
       }
    }
 
-   public void updateGloballyCompared(GameObject source, GameObject target, float delta) {
-      for (Behavior behavior : globalBehaviors) {
-         behavior.update(source, target, delta);
+   /**
+    * Updates all isolated behaviors, in parallel if there are enough of them. Each source is
+    * updated with its {@link GameObject#getUpdateDelta()}, so this is called by the world
+    * after it captured the previous transforms and before any other behavior is updated.
+    *
+    * @param delta the time step of the world update
+    */
+   public void updateIsolated(float delta) {
+      final int size = isolatedBehaviors.size;
+      if (size == 0) {
+         return;
+      }
+      if (parallelism == 1 || size < PARALLEL_THRESHOLD) {
+         updateIsolated(0, size);
+         return;
+      }
+      if (asyncExecutor == null) {
+         asyncExecutor = new AsyncExecutor(parallelism - 1);
+      }
+      while (chunks.size < parallelism) {
+         chunks.add(new IsolatedChunk());
+      }
+      final int chunkSize = (size + parallelism - 1) / parallelism;
+      // the calling thread takes the first chunk itself
+      for (int i = 1; i < parallelism && i * chunkSize < size; ++i) {
+         IsolatedChunk chunk = chunks.get(i);
+         chunk.from = i * chunkSize;
+         chunk.to = Math.min(size, chunk.from + chunkSize);
+         results.add(asyncExecutor.submit(chunk));
+      }
+      try {
+         updateIsolated(0, Math.min(size, chunkSize));
+      } finally {
+         for (int i = 0; i < results.size; ++i) {
+            results.get(i).get();
+         }
+         results.clear();
       }
    }
 
-   public void clear() {
-      for (Entry<String, List<Behavior>> behaviors : localBehaviors.entrySet()) {
-         for (Behavior behavior : behaviors.getValue()) {
-            behavior.onDetach(world.getObjectById(behaviors.getKey()));
+   private void updateIsolated(int from, int to) {
+      for (int i = from; i < to; ++i) {
+         GameObject source = isolatedSources.get(i);
+         // dormant game objects are skipped or ticked at a reduced rate with the accumulated delta
+         float delta = source.getUpdateDelta();
+         if (source.isSleeping() || delta < 0f) {
+            continue;
+         }
+         ScheduledUpdate schedule = isolatedSchedules.get(i);
+         if (schedule == null) {
+            update(isolatedBehaviors.get(i), source, delta);
+         } else {
+            float elapsed = schedule.advance(source, lodCamera, delta);
+            if (elapsed >= 0f) {
+               update(isolatedBehaviors.get(i), source, elapsed);
+            }
          }
       }
-      localBehaviors.clear();
-      globalBehaviors.clear();
+   }
+
+   private static class LocalBehaviors {
+
+      long handle;
+
+      final Array<Behavior> all = new Array<Behavior>(4);
+
+      // behaviors updated on the update thread, all except isolated ones
+      final Array<Behavior> sequential = new Array<Behavior>(4);
+
+      // schedules of the sequential behaviors at the same index, null updates every frame
+      final Array<ScheduledUpdate> schedules = new Array<ScheduledUpdate>(4);
+
+      final Array<Behavior> pairwise = new Array<Behavior>(4);
+
+      // filters of the pairwise behaviors at the same index, null accepts every pair
+      final Array<PairFilter> pairFilters = new Array<PairFilter>(4);
+
+      void clear() {
+         all.clear();
+         sequential.clear();
+         schedules.clear();
+         pairwise.clear();
+         pairFilters.clear();
+      }
+   }
+
+   private class IsolatedChunk implements AsyncTask<Void> {
+
+      int from, to;
+
+      @Override
+      public Void call() throws Exception {
+         updateIsolated(from, to);
+         return null;
+      }
    }
 }
@@ -12,6 +12,11 @@ public class BehaviorManagerAdapter extends GameWorldListener implements Updatea
       this.behaviorManager = behaviorManager;
    }
 
+   @Override
+   public void onBeforeUpdate(float delta) {
+      behaviorManager.updateIsolated(delta);
+   }
+
    @Override
    public void onUpdate(GameObject object, float delta) {
       behaviorManager.updateGlobally(object, delta);
@@ -24,6 +29,11 @@ public class BehaviorManagerAdapter extends GameWorldListener implements Updatea
       behaviorManager.updateGloballyCompared(object, other, delta);
    }
 
+   @Override
+   public boolean isUpdatingPairs(GameObject object) {
+      return behaviorManager.isUpdatingPairs(object);
+   }
+
    @Override
    public void onRemove(GameObject object) {
       behaviorManager.remove(object);
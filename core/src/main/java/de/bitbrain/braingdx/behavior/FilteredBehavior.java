@@ -0,0 +1,17 @@
+package de.bitbrain.braingdx.behavior;
+
+/**
+ * Behavior which only gets pairwise updates for pairs of game objects accepted by its
+ * {@link PairFilter}. The {@link BehaviorManager} evaluates the filter before dispatching, so
+ * game objects which are not accepted as source are not paired at all.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public interface FilteredBehavior extends Behavior {
+
+   /**
+    * @return the filter of this behavior, which is obtained once when the behavior gets applied
+    */
+   PairFilter getPairFilter();
+}
@@ -0,0 +1,20 @@
+package de.bitbrain.braingdx.behavior;
+
+/**
+ * Marks a behavior whose {@link Behavior#update(de.bitbrain.braingdx.world.GameObject, float)}
+ * only reads and writes its source game object and its own state. The {@link BehaviorManager}
+ * updates isolated behaviors in parallel at the beginning of each world update, before all other
+ * behaviors are updated.
+ * <p>
+ * Isolated behaviors must not access other game objects, the game world or any shared state.
+ * This includes spatial queries like {@link de.bitbrain.braingdx.world.GameWorld#query}, which
+ * are not thread-safe. Ids generated by {@link de.bitbrain.braingdx.world.GameObject#getId()} on
+ * worker threads can only be looked up via the world after its next flush.
+ * In particular they must neither change the z-index nor the type of their source. Unless
+ * stateless, an instance should only be attached to a single game object.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public interface IsolatedBehavior extends Behavior {
+}
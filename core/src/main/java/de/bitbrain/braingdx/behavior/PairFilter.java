@@ -0,0 +1,89 @@
+package de.bitbrain.braingdx.behavior;
+
+import de.bitbrain.braingdx.world.GameObject;
+import de.bitbrain.braingdx.world.TypeMask;
+
+/**
+ * Restricts the pairs of game objects a {@link FilteredBehavior} gets updated with. Sources and
+ * targets are matched by their {@link TypeMask type mask} and their category bits. A mask of
+ * {@link TypeMask#ALL} (default) matches every game object, including game objects without a
+ * type or category.
+ * <p>
+ * Filters are evaluated on every pair, so they can be changed after the behavior has been applied.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class PairFilter {
+
+   private long sourceTypes = TypeMask.ALL;
+   private long targetTypes = TypeMask.ALL;
+   private long sourceCategories = TypeMask.ALL;
+   private long targetCategories = TypeMask.ALL;
+
+   public PairFilter setSourceTypes(Object... types) {
+      return setSourceTypeMask(TypeMask.of(types));
+   }
+
+   public PairFilter setTargetTypes(Object... types) {
+      return setTargetTypeMask(TypeMask.of(types));
+   }
+
+   public PairFilter setSourceTypeMask(long mask) {
+      this.sourceTypes = mask;
+      return this;
+   }
+
+   public PairFilter setTargetTypeMask(long mask) {
+      this.targetTypes = mask;
+      return this;
+   }
+
+   /**
+    * @param categories the category bits of sources, see {@link GameObject#setCategoryBits(long)}
+    */
+   public PairFilter setSourceCategories(long categories) {
+      this.sourceCategories = categories;
+      return this;
+   }
+
+   /**
+    * @param categories the category bits of targets, see {@link GameObject#setCategoryBits(long)}
+    */
+   public PairFilter setTargetCategories(long categories) {
+      this.targetCategories = categories;
+      return this;
+   }
+
+   public long getSourceTypeMask() {
+      return sourceTypes;
+   }
+
+   public long getTargetTypeMask() {
+      return targetTypes;
+   }
+
+   public long getSourceCategories() {
+      return sourceCategories;
+   }
+
+   public long getTargetCategories() {
+      return targetCategories;
+   }
+
+   public boolean acceptsSource(GameObject source) {
+      return matches(sourceTypes, source.getTypeMask()) && matches(sourceCategories, source.getCategoryBits());
+   }
+
+   public boolean acceptsTarget(GameObject target) {
+      return matches(targetTypes, target.getTypeMask()) && matches(targetCategories, target.getCategoryBits());
+   }
+
+   public boolean accepts(GameObject source, GameObject target) {
+      return acceptsSource(source) && acceptsTarget(target);
+   }
+
+   private static boolean matches(long mask, long bits) {
+      return mask == TypeMask.ALL || (mask & bits) != 0L;
+   }
+}
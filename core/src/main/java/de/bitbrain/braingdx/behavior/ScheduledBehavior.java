@@ -0,0 +1,16 @@
+package de.bitbrain.braingdx.behavior;
+
+/**
+ * Behavior which is not updated every frame but according to its {@link UpdateSchedule}.
+ * Only updates of single game objects are scheduled, pairwise updates happen every frame.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public interface ScheduledBehavior extends Behavior {
+
+   /**
+    * @return the schedule of this behavior, which is obtained once when the behavior gets applied
+    */
+   UpdateSchedule getUpdateSchedule();
+}
@@ -0,0 +1,56 @@
+package de.bitbrain.braingdx.behavior;
+
+import com.badlogic.gdx.graphics.Camera;
+import de.bitbrain.braingdx.world.GameObject;
+
+/**
+ * State of a behavior which has been applied to a game object with an {@link UpdateSchedule}.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+class ScheduledUpdate {
+
+   private final UpdateSchedule schedule;
+   // progress towards the next update, 1 means the update is due
+   private float progress;
+   private float elapsed;
+
+   ScheduledUpdate(UpdateSchedule schedule, int slot) {
+      this.schedule = schedule;
+      // spread game objects evenly across the interval
+      this.progress = ((slot * 0x9E3779B9L) & 0xFFFFFFL) / (float) 0x1000000L;
+   }
+
+   /**
+    * Advances the schedule by the given time step.
+    *
+    * @return the time which has passed since the last update if an update is due, otherwise -1
+    */
+   float advance(GameObject source, Camera camera, float delta) {
+      elapsed += delta;
+      float interval = schedule.getInterval(schedule.isDistanceBased() ? distance(source, camera) : 0f);
+      if (interval <= 0f) {
+         progress = 0f;
+      } else {
+         progress += delta / interval;
+         if (progress < 1f) {
+            return -1f;
+         }
+         // do not catch up on missed updates
+         progress = Math.min(progress - 1f, 0.99f);
+      }
+      float result = elapsed;
+      elapsed = 0f;
+      return result;
+   }
+
+   private static float distance(GameObject source, Camera camera) {
+      if (camera == null) {
+         return 0f;
+      }
+      float dx = source.getLeft() + source.getWidth() / 2f - camera.position.x;
+      float dy = source.getTop() + source.getHeight() / 2f - camera.position.y;
+      return (float) Math.sqrt(dx * dx + dy * dy);
+   }
+}
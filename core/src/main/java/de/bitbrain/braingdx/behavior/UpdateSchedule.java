@@ -0,0 +1,67 @@
+package de.bitbrain.braingdx.behavior;
+
+/**
+ * Defines how often a behavior gets updated. Scheduled behaviors are updated every interval
+ * instead of every frame and receive the time which has passed since their last update.
+ * The interval might depend on the distance between the game object and the camera
+ * (level of detail): it is interpolated linearly between the near and the far interval.
+ * <p>
+ * Updates of different game objects are staggered across frames, so behaviors with the same
+ * schedule do not all run within the same frame.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class UpdateSchedule {
+
+   private final float nearDistance;
+   private final float nearInterval;
+   private final float farDistance;
+   private final float farInterval;
+
+   private UpdateSchedule(float nearDistance, float nearInterval, float farDistance, float farInterval) {
+      this.nearDistance = nearDistance;
+      this.nearInterval = Math.max(0f, nearInterval);
+      this.farDistance = Math.max(nearDistance, farDistance);
+      this.farInterval = Math.max(0f, farInterval);
+   }
+
+   /**
+    * @param interval the time between two updates in seconds
+    * @return a schedule with a fixed interval
+    */
+   public static UpdateSchedule every(float interval) {
+      return new UpdateSchedule(0f, interval, 0f, interval);
+   }
+
+   /**
+    * @param nearDistance the distance to the camera up to which the near interval applies
+    * @param nearInterval the time between two updates close to the camera in seconds
+    * @param farDistance  the distance to the camera from which on the far interval applies
+    * @param farInterval  the time between two updates far away from the camera in seconds
+    * @return a schedule with an interval depending on the distance to the camera
+    */
+   public static UpdateSchedule byDistance(float nearDistance, float nearInterval, float farDistance,
+                                           float farInterval) {
+      return new UpdateSchedule(nearDistance, nearInterval, farDistance, farInterval);
+   }
+
+   public boolean isDistanceBased() {
+      return nearInterval != farInterval;
+   }
+
+   /**
+    * @param distance the distance between the game object and the camera
+    * @return the time between two updates in seconds
+    */
+   public float getInterval(float distance) {
+      if (distance <= nearDistance) {
+         return nearInterval;
+      }
+      if (distance >= farDistance) {
+         return farInterval;
+      }
+      float progress = (distance - nearDistance) / (farDistance - nearDistance);
+      return nearInterval + (farInterval - nearInterval) * progress;
+   }
+}
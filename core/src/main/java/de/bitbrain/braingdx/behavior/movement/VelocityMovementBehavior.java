@@ -2,9 +2,10 @@ package de.bitbrain.braingdx.behavior.movement;
 
 import com.badlogic.gdx.math.Vector2;
 import de.bitbrain.braingdx.behavior.BehaviorAdapter;
+import de.bitbrain.braingdx.behavior.IsolatedBehavior;
 import de.bitbrain.braingdx.world.GameObject;
 
-public class VelocityMovementBehavior extends BehaviorAdapter implements Movement<Vector2> {
+public class VelocityMovementBehavior extends BehaviorAdapter implements Movement<Vector2>, IsolatedBehavior {
 
    private final Vector2 velocity = new Vector2(0f, 0f);
 
@@ -0,0 +1,171 @@
+package de.bitbrain.braingdx.event;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Processes events for {@link AsyncGameEventListener}s on a bounded number of worker threads.
+ * Submitting an event never blocks: once the given capacity of waiting events is reached,
+ * the {@link OverflowPolicy} decides what happens to further events. Dropped events are never
+ * completed.
+ * <p>
+ * Results are collected in a completion queue and handed to their listeners by
+ * {@link #drain()}, which is called by {@link GameEventManager#flush()}.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class AsyncEventLane implements Disposable {
+
+   public static final int DEFAULT_CAPACITY = 256;
+
+   public enum OverflowPolicy {
+      /**
+       * drops the submitted event
+       */
+      DISCARD,
+      /**
+       * drops the event which has been waiting the longest
+       */
+      DISCARD_OLDEST,
+      /**
+       * processes the submitted event on the submitting thread, slowing it down
+       */
+      CALLER_RUNS
+   }
+
+   private final ThreadPoolExecutor executor;
+   private final ConcurrentLinkedQueue<Delivery<?, ?>> completions = new ConcurrentLinkedQueue<Delivery<?, ?>>();
+   private final AtomicLong dropped = new AtomicLong();
+   private final OverflowPolicy policy;
+
+   public AsyncEventLane() {
+      this(1, DEFAULT_CAPACITY, OverflowPolicy.DISCARD);
+   }
+
+   /**
+    * @param threads  the number of worker threads
+    * @param capacity the maximum number of events waiting to be processed
+    * @param policy   the policy applied to events exceeding the capacity
+    */
+   public AsyncEventLane(int threads, int capacity, OverflowPolicy policy) {
+      this.policy = policy;
+      threads = Math.max(1, threads);
+      this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(Math.max(1, capacity)), new WorkerFactory(), new OverflowHandler());
+   }
+
+   public OverflowPolicy getOverflowPolicy() {
+      return policy;
+   }
+
+   /**
+    * @return the number of events which have been dropped
+    */
+   public long getDroppedCount() {
+      return dropped.get();
+   }
+
+   /**
+    * @return the number of events waiting to be processed
+    */
+   public int getPendingCount() {
+      return executor.getQueue().size();
+   }
+
+   <T extends GameEvent, R> void submit(AsyncGameEventListener<T, R> listener, T event) {
+      executor.execute(new Delivery<T, R>(listener, event));
+   }
+
+   /**
+    * Hands the results of all processed events to their listeners on the calling thread.
+    */
+   public void drain() {
+      Delivery<?, ?> delivery;
+      while ((delivery = completions.poll()) != null) {
+         delivery.complete();
+      }
+   }
+
+   @Override
+   public void dispose() {
+      executor.shutdownNow();
+      completions.clear();
+   }
+
+   private class Delivery<T extends GameEvent, R> implements Runnable {
+
+      private final AsyncGameEventListener<T, R> listener;
+      private final T event;
+      private R result;
+      private RuntimeException error;
+
+      Delivery(AsyncGameEventListener<T, R> listener, T event) {
+         this.listener = listener;
+         this.event = event;
+      }
+
+      @Override
+      public void run() {
+         try {
+            result = listener.process(event);
+         } catch (RuntimeException e) {
+            error = e;
+         }
+         completions.add(this);
+      }
+
+      void complete() {
+         if (error != null) {
+            Gdx.app.error("EVENT", "Unable to process " + event + " with " + listener, error);
+         } else {
+            listener.onComplete(event, result);
+         }
+      }
+   }
+
+   private class OverflowHandler implements RejectedExecutionHandler {
+
+      @Override
+      public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+         if (executor.isShutdown()) {
+            dropped.incrementAndGet();
+            return;
+         }
+         switch (policy) {
+            case CALLER_RUNS:
+               task.run();
+               break;
+            case DISCARD_OLDEST:
+               if (executor.getQueue().poll() != null) {
+                  dropped.incrementAndGet();
+               }
+               executor.execute(task);
+               break;
+            default:
+               dropped.incrementAndGet();
+         }
+      }
+   }
+
+   private static class WorkerFactory implements ThreadFactory {
+
+      private final AtomicInteger count = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable runnable) {
+         Thread thread = new Thread(runnable, "braingdx-event-" + count.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      }
+   }
+}
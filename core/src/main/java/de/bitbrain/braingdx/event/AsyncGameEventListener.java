@@ -0,0 +1,31 @@
+package de.bitbrain.braingdx.event;
+
+/**
+ * Listens to {@link GameEvent}s off the main thread. Events are processed by the
+ * {@link AsyncEventLane} of the event manager, results are handed back to the main thread when
+ * the event manager gets flushed.
+ * <p>
+ * Events delivered to asynchronous listeners are not returned to their pool, but they are
+ * shared with all other listeners: they should not be modified while being processed.
+ *
+ * @param <T> the {@link GameEvent} type to use for this very listener.
+ * @param <R> the type of the result which is handed back to the main thread.
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public interface AsyncGameEventListener<T extends GameEvent, R> {
+
+   /**
+    * Processes the given event on a worker thread.
+    *
+    * @return the result which is passed to {@link #onComplete(GameEvent, Object)}
+    */
+   R process(T event);
+
+   /**
+    * Called on the main thread once the given event has been processed.
+    *
+    * @param result the result of {@link #process(GameEvent)}
+    */
+   void onComplete(T event, R result);
+}
@@ -0,0 +1,148 @@
+package de.bitbrain.braingdx.event;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import de.bitbrain.braingdx.util.Profiler;
+import de.bitbrain.braingdx.util.TimingHistogram;
+
+import java.util.Comparator;
+
+/**
+ * Counts published events and measures their dispatch per event class, and the time spent in
+ * listeners per listener class. Metrics are only recorded while set on a
+ * {@link GameEventManagerImpl}, see {@link GameEventManagerImpl#setMetrics(EventMetrics)}.
+ * <p>
+ * Asynchronous listeners are measured by the time it takes to hand events to their lane.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class EventMetrics {
+
+   private final ObjectMap<Class<?>, EventStats> events = new ObjectMap<Class<?>, EventStats>();
+   private final Profiler listeners;
+   private final int window;
+   private long since = System.nanoTime();
+
+   public EventMetrics() {
+      this(Profiler.DEFAULT_WINDOW);
+   }
+
+   /**
+    * @param window the number of recent samples percentiles are computed over
+    */
+   public EventMetrics(int window) {
+      this.window = window;
+      this.listeners = new Profiler(window);
+   }
+
+   /**
+    * @return the timings of listeners per listener class
+    */
+   public Profiler getListenerProfiler() {
+      return listeners;
+   }
+
+   /**
+    * @return the statistics of the given event class or null if no such event has been published
+    */
+   public synchronized EventStats get(Class<?> eventClass) {
+      return events.get(eventClass);
+   }
+
+   /**
+    * @return the published events per second of the given event class since the last reset
+    */
+   public synchronized float getRate(Class<?> eventClass) {
+      EventStats stats = events.get(eventClass);
+      float seconds = (System.nanoTime() - since) / 1000000000f;
+      return stats != null && seconds > 0f ? stats.published / seconds : 0f;
+   }
+
+   /**
+    * @return all published event classes, ordered by their number of events in descending order
+    */
+   public synchronized Array<Class<?>> getEventTypes() {
+      Array<Class<?>> types = new Array<Class<?>>(events.size);
+      for (Class<?> type : events.keys()) {
+         types.add(type);
+      }
+      types.sort(new Comparator<Class<?>>() {
+         @Override
+         public int compare(Class<?> a, Class<?> b) {
+            long difference = events.get(b).published - events.get(a).published;
+            return difference > 0 ? 1 : difference < 0 ? -1 : a.getName().compareTo(b.getName());
+         }
+      });
+      return types;
+   }
+
+   public synchronized void reset() {
+      events.clear();
+      listeners.reset();
+      since = System.nanoTime();
+   }
+
+   synchronized void recordEvent(Class<?> eventClass, int fanOut, long start) {
+      long nanos = System.nanoTime() - start;
+      EventStats stats = events.get(eventClass);
+      if (stats == null) {
+         stats = new EventStats(window);
+         events.put(eventClass, stats);
+      }
+      stats.published++;
+      stats.delivered += fanOut;
+      if (fanOut == 0) {
+         stats.unlistened++;
+      }
+      stats.latency.record(nanos);
+   }
+
+   void recordListener(Class<?> listenerClass, long start) {
+      listeners.record(listenerClass, start);
+   }
+
+   public static class EventStats {
+
+      private final TimingHistogram latency;
+      private long published;
+      private long delivered;
+      private long unlistened;
+
+      EventStats(int window) {
+         this.latency = new TimingHistogram(window);
+      }
+
+      public long getPublishedCount() {
+         return published;
+      }
+
+      /**
+       * @return the number of listener calls for events of this class
+       */
+      public long getDeliveredCount() {
+         return delivered;
+      }
+
+      /**
+       * @return the number of events which have been published without any listener
+       */
+      public long getUnlistenedCount() {
+         return unlistened;
+      }
+
+      /**
+       * @return the average number of listeners an event of this class is published to
+       */
+      public float getFanOut() {
+         return published > 0 ? delivered / (float) published : 0f;
+      }
+
+      /**
+       * @return the time it takes to publish an event of this class to all its listeners
+       */
+      public TimingHistogram getLatency() {
+         return latency;
+      }
+   }
+}
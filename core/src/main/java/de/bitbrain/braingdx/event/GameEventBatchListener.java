@@ -0,0 +1,20 @@
+package de.bitbrain.braingdx.event;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Listens to all queued {@link GameEvent}s of one type at once, see
+ * {@link GameEventManager#enqueue(GameEvent)}.
+ *
+ * @param <T> the {@link GameEvent} type to use for this very listener.
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public interface GameEventBatchListener<T extends GameEvent> {
+
+   /**
+    * @param events the queued events in the order they have been enqueued. The array and
+    *               pooled events must not be retained after this call.
+    */
+   void onEvents(Array<T> events);
+}
@@ -26,10 +26,60 @@ public interface GameEventManager {
    public <T extends GameEvent> void unregister(GameEventListener<T> listener, Class<T> clazz);
 
    /**
-    * Publishes a new game event to all registered listeners.
+    * Publishes a new game event to all listeners registered for its class, superclasses
+    * or interfaces.
     */
    <T extends GameEvent> void publish(T event);
 
+   /**
+    * Registers a listener which receives all queued events of the given class at once.
+    * Batch listeners only receive events of exactly the given class.
+    *
+    * @param listener the listener to register
+    * @param clazz    the class of the event to listen on
+    */
+   <T extends GameEvent> void registerBatch(GameEventBatchListener<T> listener, Class<T> clazz);
+
+   /**
+    * Unregisters an existing batch listener.
+    */
+   <T extends GameEvent> void unregisterBatch(GameEventBatchListener<T> listener, Class<T> clazz);
+
+   /**
+    * Registers a listener which processes events of the given class off the main thread.
+    * Results are handed back to the listener on the main thread by {@link #flush()}.
+    *
+    * @param listener the listener to register
+    * @param clazz    the class of the event to listen on
+    */
+   <T extends GameEvent> void registerAsync(AsyncGameEventListener<T, ?> listener, Class<T> clazz);
+
+   /**
+    * Unregisters an existing asynchronous listener. Events which are already being processed
+    * are still completed.
+    */
+   <T extends GameEvent> void unregisterAsync(AsyncGameEventListener<T, ?> listener, Class<T> clazz);
+
+   /**
+    * Obtains an event of the given class from a pool. The class requires a constructor
+    * without arguments. Obtained events are returned to the pool after they have been
+    * dispatched by {@link #flush()} and must not be retained by listeners.
+    */
+   <T extends GameEvent> T obtain(Class<T> clazz);
+
+   /**
+    * Queues the given event instead of publishing it right away. Queued events are published
+    * by {@link #flush()}, grouped by their class.
+    */
+   <T extends GameEvent> void enqueue(T event);
+
+   /**
+    * Completes all events processed by asynchronous listeners, then publishes all queued events
+    * to their listeners and batch listeners. Events which are enqueued in the meantime are
+    * published by the next flush.
+    */
+   void flush();
+
    /**
     * Clears all listeners.
     */
@@ -1,55 +1,360 @@
 package de.bitbrain.braingdx.event;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
-import org.apache.commons.collections.map.MultiValueMap;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.ReflectionPool;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
 
-import java.util.Collection;
+import java.util.Arrays;
 
 /**
+ * Publishes events to the listeners of their class, superclasses and interfaces. Listeners
+ * registered for {@link GameEvent} receive every event.
+ * <p>
+ * Listener arrays are copy-on-write: registering or unregistering listeners while an event is
+ * published does not affect the ongoing dispatch, but all events published afterwards. The
+ * listeners of each event class are resolved once and cached until listeners change, which
+ * keeps publishing free of allocations.
+ * <p>
+ * Queued events are kept per class and published in the order their classes have first been
+ * enqueued. Events of classes which have been obtained from this manager are returned to their
+ * pool once all listeners have been notified, unless asynchronous listeners received them.
+ * <p>
+ * Asynchronous listeners are served by an {@link AsyncEventLane}, by default a single worker
+ * thread which discards events once 256 events are waiting.
+ *
  * @author Miguel Gonzalez Sanchez
  * @since 0.2.0
  */
-public class GameEventManagerImpl implements GameEventManager {
+public class GameEventManagerImpl implements GameEventManager, Disposable {
 
-   private final MultiValueMap listenerMapping = new MultiValueMap();
+   private static final GameEventListener<?>[] NO_LISTENERS = new GameEventListener<?>[0];
+   private static final GameEventBatchListener<?>[] NO_BATCH_LISTENERS = new GameEventBatchListener<?>[0];
+
+   // listeners as registered, per event class
+   private final ObjectMap<Class<?>, GameEventListener<?>[]> listenerMapping = new ObjectMap<Class<?>, GameEventListener<?>[]>();
+
+   // listeners of the whole class hierarchy, per published event class
+   private final ObjectMap<Class<?>, GameEventListener<?>[]> dispatchCache = new ObjectMap<Class<?>, GameEventListener<?>[]>();
+
+   private final ObjectMap<Class<?>, GameEventBatchListener<?>[]> batchListenerMapping = new ObjectMap<Class<?>, GameEventBatchListener<?>[]>();
+
+   private final ObjectMap<Class<?>, Pool<? extends GameEvent>> pools = new ObjectMap<Class<?>, Pool<? extends GameEvent>>();
+
+   // events are enqueued to the pending queue while the other one is being dispatched
+   private EventQueue pending = new EventQueue();
+   private EventQueue dispatching = new EventQueue();
+   private boolean flushing;
+
+   private AsyncEventLane asyncLane;
+
+   private EventMetrics metrics;
 
    @Override
    public <T extends GameEvent> void register(GameEventListener<T> listener, Class<T> clazz) {
-      listenerMapping.put(clazz, listener);
+      listenerMapping.put(clazz, append(listenerMapping.get(clazz, NO_LISTENERS), listener));
+      dispatchCache.clear();
    }
 
-   @SuppressWarnings("unchecked")
    @Override
    public <T extends GameEvent> void unregister(GameEventListener<T> listener, Class<T> clazz) {
-      Collection<?> listeners = (Collection<GameEventListener<T>>) listenerMapping.get(clazz);
-      if (listeners.remove(listener)) {
-         if (listeners.isEmpty()) {
-            listenerMapping.remove(clazz);
+      GameEventListener<?>[] listeners = listenerMapping.get(clazz, NO_LISTENERS);
+      GameEventListener<?>[] remaining = remove(listeners, listener);
+      if (remaining == listeners) {
+         Gdx.app.error("EVENT", "Unable to unregister listener " + listener + " - not registered for " + clazz);
+      } else if (remaining.length == 0) {
+         listenerMapping.remove(clazz);
+      } else {
+         listenerMapping.put(clazz, remaining);
+      }
+      dispatchCache.clear();
+   }
+
+   @Override
+   public <T extends GameEvent> void registerAsync(AsyncGameEventListener<T, ?> listener, Class<T> clazz) {
+      listenerMapping.put(clazz, append(listenerMapping.get(clazz, NO_LISTENERS), new AsyncDelivery<T>(listener)));
+      dispatchCache.clear();
+   }
+
+   @Override
+   public <T extends GameEvent> void unregisterAsync(AsyncGameEventListener<T, ?> listener, Class<T> clazz) {
+      GameEventListener<?>[] listeners = listenerMapping.get(clazz, NO_LISTENERS);
+      for (GameEventListener<?> registered : listeners) {
+         if (registered instanceof AsyncDelivery && ((AsyncDelivery<?>) registered).listener == listener) {
+            GameEventListener<?>[] remaining = remove(listeners, registered);
+            if (remaining.length == 0) {
+               listenerMapping.remove(clazz);
+            } else {
+               listenerMapping.put(clazz, remaining);
+            }
+            dispatchCache.clear();
+            return;
          }
       }
+      Gdx.app.error("EVENT", "Unable to unregister async listener " + listener + " - not registered for " + clazz);
+   }
+
+   public AsyncEventLane getAsyncLane() {
+      if (asyncLane == null) {
+         asyncLane = new AsyncEventLane();
+      }
+      return asyncLane;
+   }
+
+   /**
+    * Replaces the lane asynchronous listeners are served by. The previous lane is disposed,
+    * its pending events are dropped.
+    */
+   public void setAsyncLane(AsyncEventLane asyncLane) {
+      if (this.asyncLane != null && this.asyncLane != asyncLane) {
+         this.asyncLane.dispose();
+      }
+      this.asyncLane = asyncLane;
+   }
+
+   public EventMetrics getMetrics() {
+      return metrics;
+   }
+
+   /**
+    * Records publishes and listener timings with the given metrics.
+    *
+    * @param metrics the metrics to record with or null to disable metrics
+    */
+   public void setMetrics(EventMetrics metrics) {
+      this.metrics = metrics;
+   }
+
+   @Override
+   public <T extends GameEvent> void registerBatch(GameEventBatchListener<T> listener, Class<T> clazz) {
+      batchListenerMapping.put(clazz, append(batchListenerMapping.get(clazz, NO_BATCH_LISTENERS), listener));
+   }
+
+   @Override
+   public <T extends GameEvent> void unregisterBatch(GameEventBatchListener<T> listener, Class<T> clazz) {
+      GameEventBatchListener<?>[] listeners = batchListenerMapping.get(clazz, NO_BATCH_LISTENERS);
+      GameEventBatchListener<?>[] remaining = remove(listeners, listener);
+      if (remaining == listeners) {
+         Gdx.app.error("EVENT", "Unable to unregister batch listener " + listener + " - not registered for " + clazz);
+      } else if (remaining.length == 0) {
+         batchListenerMapping.remove(clazz);
+      } else {
+         batchListenerMapping.put(clazz, remaining);
+      }
    }
 
    @SuppressWarnings("unchecked")
    @Override
-   public <T extends GameEvent> void publish(T event) {
-      Collection<GameEventListener<T>> listeners = (Collection<GameEventListener<T>>) listenerMapping.get(event.getClass());
-      if (listeners != null) {
-         for (GameEventListener<T> listener : listeners) {
-            listener.onEvent(event);
+   public <T extends GameEvent> T obtain(Class<T> clazz) {
+      Pool<T> pool = (Pool<T>) pools.get(clazz);
+      if (pool == null) {
+         pool = new ReflectionPool<T>(clazz);
+         pools.put(clazz, pool);
+      }
+      return pool.obtain();
+   }
+
+   @Override
+   public <T extends GameEvent> void enqueue(T event) {
+      pending.add(event);
+   }
+
+   @Override
+   public void flush() {
+      if (flushing) {
+         // events enqueued by listeners are published by the next flush
+         return;
+      }
+      flushing = true;
+      if (asyncLane != null) {
+         asyncLane.drain();
+      }
+      EventQueue queue = pending;
+      pending = dispatching;
+      dispatching = queue;
+      try {
+         dispatch(queue);
+      } finally {
+         queue.clear();
+         flushing = false;
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private void dispatch(EventQueue queue) {
+      for (int i = 0; i < queue.types.size; ++i) {
+         Class<?> type = queue.types.get(i);
+         Array<GameEvent> events = queue.events.get(type);
+         GameEventListener<?>[] listeners = listenersOf(type);
+         GameEventBatchListener<GameEvent>[] batchListeners = (GameEventBatchListener<GameEvent>[]) batchListenerMapping.get(type, NO_BATCH_LISTENERS);
+         for (int j = 0; j < events.size; ++j) {
+            deliver(events.get(j), listeners, batchListeners.length);
          }
-      } else {
+         for (int j = 0; j < batchListeners.length; ++j) {
+            if (metrics == null) {
+               batchListeners[j].onEvents(events);
+            } else {
+               long start = System.nanoTime();
+               batchListeners[j].onEvents(events);
+               metrics.recordListener(batchListeners[j].getClass(), start);
+            }
+         }
+         Pool<GameEvent> pool = (Pool<GameEvent>) pools.get(type);
+         if (pool != null && !isAsync(listeners)) {
+            pool.freeAll(events);
+         }
+         events.clear();
+      }
+   }
+
+   @Override
+   public <T extends GameEvent> void publish(T event) {
+      GameEventListener<?>[] listeners = listenersOf(event.getClass());
+      if (listeners.length == 0 && Gdx.app.getLogLevel() == Application.LOG_DEBUG) {
          Gdx.app.debug("EVENT", "Not publishing event of type " + event.getClass() + " - no listener registered!");
       }
+      deliver(event, listeners, 0);
+   }
+
+   @SuppressWarnings("unchecked")
+   private <T extends GameEvent> void deliver(T event, GameEventListener<?>[] listeners, int batchFanOut) {
+      if (metrics == null) {
+         for (int i = 0; i < listeners.length; ++i) {
+            ((GameEventListener<T>) listeners[i]).onEvent(event);
+         }
+         return;
+      }
+      long start = System.nanoTime();
+      for (int i = 0; i < listeners.length; ++i) {
+         GameEventListener<T> listener = (GameEventListener<T>) listeners[i];
+         long listenerStart = System.nanoTime();
+         listener.onEvent(event);
+         Class<?> listenerClass = listener instanceof AsyncDelivery
+               ? ((AsyncDelivery<?>) listener).listener.getClass() : listener.getClass();
+         metrics.recordListener(listenerClass, listenerStart);
+      }
+      metrics.recordEvent(event.getClass(), listeners.length + batchFanOut, start);
    }
 
    @Override
    public void clear() {
       listenerMapping.clear();
+      batchListenerMapping.clear();
+      dispatchCache.clear();
    }
 
    @Override
    public <T extends GameEvent> void clear(Class<T> clazz) {
       listenerMapping.remove(clazz);
+      batchListenerMapping.remove(clazz);
+      dispatchCache.clear();
+   }
+
+   @Override
+   public void dispose() {
+      if (asyncLane != null) {
+         asyncLane.dispose();
+         asyncLane = null;
+      }
    }
 
+   private static boolean isAsync(GameEventListener<?>[] listeners) {
+      for (GameEventListener<?> listener : listeners) {
+         if (listener instanceof AsyncDelivery) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   private GameEventListener<?>[] listenersOf(Class<?> eventClass) {
+      GameEventListener<?>[] listeners = dispatchCache.get(eventClass);
+      if (listeners == null) {
+         listeners = resolve(eventClass);
+         dispatchCache.put(eventClass, listeners);
+      }
+      return listeners;
+   }
+
+   private GameEventListener<?>[] resolve(Class<?> eventClass) {
+      Array<GameEventListener<?>> listeners = new Array<GameEventListener<?>>(GameEventListener.class);
+      collect(eventClass, listeners, new ObjectSet<Class<?>>());
+      return listeners.size > 0 ? listeners.toArray() : NO_LISTENERS;
+   }
+
+   private void collect(Class<?> type, Array<GameEventListener<?>> listeners, ObjectSet<Class<?>> visited) {
+      if (type == null || !visited.add(type)) {
+         return;
+      }
+      GameEventListener<?>[] registered = listenerMapping.get(type);
+      if (registered != null) {
+         listeners.addAll(registered);
+      }
+      collect(type.getSuperclass(), listeners, visited);
+      for (Class<?> interfaceType : ClassReflection.getInterfaces(type)) {
+         collect(interfaceType, listeners, visited);
+      }
+   }
+
+   private static <L> L[] append(L[] listeners, L listener) {
+      L[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+      copy[listeners.length] = listener;
+      return copy;
+   }
+
+   private static <L> L[] remove(L[] listeners, Object listener) {
+      for (int i = 0; i < listeners.length; ++i) {
+         if (listeners[i] == listener) {
+            L[] copy = Arrays.copyOf(listeners, listeners.length - 1);
+            System.arraycopy(listeners, i + 1, copy, i, copy.length - i);
+            return copy;
+         }
+      }
+      return listeners;
+   }
+
+   private class AsyncDelivery<T extends GameEvent> implements GameEventListener<T> {
+
+      final AsyncGameEventListener<T, ?> listener;
+
+      AsyncDelivery(AsyncGameEventListener<T, ?> listener) {
+         this.listener = listener;
+      }
+
+      @Override
+      public void onEvent(T event) {
+         getAsyncLane().submit(listener, event);
+      }
+   }
+
+   private static class EventQueue {
+
+      final Array<Class<?>> types = new Array<Class<?>>();
+
+      final ObjectMap<Class<?>, Array<GameEvent>> events = new ObjectMap<Class<?>, Array<GameEvent>>();
+
+      void add(GameEvent event) {
+         Array<GameEvent> queued = events.get(event.getClass());
+         if (queued == null) {
+            queued = new Array<GameEvent>();
+            events.put(event.getClass(), queued);
+         }
+         if (queued.size == 0) {
+            types.add(event.getClass());
+         }
+         queued.add(event);
+      }
+
+      void clear() {
+         for (int i = 0; i < types.size; ++i) {
+            events.get(types.get(i)).clear();
+         }
+         types.clear();
+      }
+   }
 }
@@ -2,13 +2,12 @@ package de.bitbrain.braingdx.event;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
 import de.bitbrain.braingdx.behavior.BehaviorAdapter;
 import de.bitbrain.braingdx.world.GameObject;
 import de.bitbrain.braingdx.world.GameWorld;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
  * An event router which manages object collisions and detects events happening in the
  * world. It then publishes events depending on the event configuration.
@@ -18,6 +17,12 @@ import java.util.Set;
  * <li><b>sticky</b> - sticky events do not disappear after a trigger and will be triggered after re-entering</li>
  * <li><b>producer</b> - a custom producer type which overrides the default producer. The default producer is the game object colliding with the event object</li>
  * </ul>
+ * <p>
+ * Event objects are only tested against game objects which occupy the same cells of the
+ * {@link de.bitbrain.braingdx.world.BroadPhase} of the world. When game objects can fall asleep or
+ * become dormant (see {@link GameWorld#setSleepThreshold(int)} and
+ * {@link GameWorld#setActivityRegions(de.bitbrain.braingdx.world.ActivityRegions)}), idle event
+ * objects are detected from the side of the game objects entering them instead.
  */
 public class GameEventRouter extends BehaviorAdapter {
 
@@ -30,7 +35,13 @@ public class GameEventRouter extends BehaviorAdapter {
    private final GameWorld gameWorld;
    private Rectangle sourceRect, targetRect;
    private GameEventFactory eventFactory;
-   private Set<String> eventIds = new HashSet<String>();
+   // handles of consumed events, released once the event gets removed. Handles of cleared worlds
+   // never match new game objects, even if they reuse the same slot
+   private final LongMap<Boolean> consumedEvents = new LongMap<Boolean>();
+   // handles of idle events which have been detected by entering game objects in the current update
+   private final LongMap<Boolean> idleEvents = new LongMap<Boolean>();
+   private int idleEventsUpdate = -1;
+   private final Array<GameObject> candidates = new Array<GameObject>();
    private Object[] identifiers;
    private final GameEventInfoExtractor extractor;
 
@@ -49,14 +60,71 @@ public class GameEventRouter extends BehaviorAdapter {
       }
    }
 
+   /**
+    * Releases all consumed events.
+    */
+   public void clear() {
+      consumedEvents.clear();
+      idleEvents.clear();
+   }
+
    @Override
-   public void update(GameObject source, GameObject target, float delta) {
+   public void update(GameObject source, float delta) {
       if (eventFactory == null || identifiers == null || identifiers.length < 1) {
          return;
       }
-      if (!isSupported(source)) {
-         return;
+      if (isSupported(source)) {
+         if (!isIdleEventDetected(source)) {
+            updateEvent(source);
+         }
+      } else if (source.isActive() && canBeIdle()) {
+         updateIdleEvents(source);
+      }
+   }
+
+   @Override
+   public void onDetach(GameObject source) {
+      consumedEvents.remove(source.getHandle());
+   }
+
+   private void updateEvent(GameObject source) {
+      gameWorld.query(source.getLeft(), source.getTop(), source.getWidth(), source.getHeight(), null, candidates);
+      for (int i = 0; i < candidates.size; ++i) {
+         GameObject target = candidates.get(i);
+         if (target != source && target.isActive()) {
+            update(source, target);
+         }
       }
+      candidates.clear();
+   }
+
+   private void updateIdleEvents(GameObject target) {
+      gameWorld.query(target.getLeft(), target.getTop(), target.getWidth(), target.getHeight(), null, candidates);
+      for (int i = 0; i < candidates.size; ++i) {
+         GameObject source = candidates.get(i);
+         // sleeping and dormant events are not updated themselves
+         if (source != target && isSupported(source) && (source.isSleeping() || source.getUpdateDelta() < 0f)) {
+            if (idleEventsUpdate != gameWorld.getUpdateCount()) {
+               idleEvents.clear();
+               idleEventsUpdate = gameWorld.getUpdateCount();
+            }
+            idleEvents.put(source.getHandle(), Boolean.TRUE);
+            update(source, target);
+         }
+      }
+      candidates.clear();
+   }
+
+   private boolean canBeIdle() {
+      return gameWorld.getSleepThreshold() > 0 || gameWorld.getActivityRegions() != null;
+   }
+
+   private boolean isIdleEventDetected(GameObject source) {
+      // events woken up within this update have already been tested by entering game objects
+      return idleEventsUpdate == gameWorld.getUpdateCount() && idleEvents.containsKey(source.getHandle());
+   }
+
+   private void update(GameObject source, GameObject target) {
       // Events do not collide!
       if (source.getType().equals(target.getType())) {
          return;
@@ -72,12 +140,12 @@ public class GameEventRouter extends BehaviorAdapter {
       targetRect.set(target.getLeft(), target.getTop(), target.getWidth(), target.getHeight());
 
       if (sourceRect.contains(targetRect) || sourceRect.overlaps(targetRect)) {
-         if (eventIds.contains(source.getId())) {
+         if (consumedEvents.containsKey(source.getHandle())) {
             // Event already consumed!
             gameWorld.remove(source);
             return;
          }
-         eventIds.add(source.getId());
+         consumedEvents.put(source.getHandle(), Boolean.TRUE);
          // Source is the event!
          GameEvent event = eventFactory.create(source, target);
          if (event != null) {
@@ -87,11 +155,8 @@ public class GameEventRouter extends BehaviorAdapter {
          }
       }
       if (extractor.isSticky(source)) {
-         if (eventIds.contains(source.getId())) {
-            eventIds.remove(source.getId());
-         }
+         consumedEvents.remove(source.getHandle());
       }
-
    }
 
    private boolean isSupported(GameObject object) {
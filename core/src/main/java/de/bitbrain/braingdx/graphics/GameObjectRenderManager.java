@@ -15,8 +15,13 @@
 
 package de.bitbrain.braingdx.graphics;
 
+import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectFloatMap;
+import de.bitbrain.braingdx.util.Profiler;
 import de.bitbrain.braingdx.world.GameObject;
 
 import java.util.HashMap;
@@ -31,10 +36,22 @@ import java.util.Map;
  */
 public class GameObjectRenderManager implements Disposable {
 
-   private static Map<Object, GameObjectRenderer> rendererMap = new HashMap<Object, GameObjectRenderer>();
+   private final Map<Object, GameObjectRenderer> rendererMap = new HashMap<Object, GameObjectRenderer>();
+
+   private final ObjectFloatMap<Object> cullingMargins = new ObjectFloatMap<Object>();
+
+   private final Rectangle bounds = new Rectangle();
+
+   private final Rectangle originBounds = new Rectangle();
 
    private final Batch batch;
 
+   private OrthographicCamera cullingCamera;
+
+   private int drawnCount, culledCount;
+
+   private Profiler profiler;
+
    public GameObjectRenderManager(Batch batch) {
       this.batch = batch;
    }
@@ -49,22 +66,96 @@ public class GameObjectRenderManager implements Disposable {
       return new CombinedGameObjectRenderer(gameObjectRenderers);
    }
 
+   /**
+    * Sets the camera game objects are culled against. Game objects outside of its view are not
+    * rendered. Culling is disabled when no camera is set.
+    *
+    * @param camera the camera to cull against or null to disable culling
+    */
+   public void setCullingCamera(OrthographicCamera camera) {
+      this.cullingCamera = camera;
+   }
+
+   public OrthographicCamera getCullingCamera() {
+      return cullingCamera;
+   }
+
+   /**
+    * Measures every renderer with the given profiler.
+    *
+    * @param profiler the profiler to record with or null to disable profiling
+    */
+   public void setProfiler(Profiler profiler) {
+      this.profiler = profiler;
+   }
+
+   public Profiler getProfiler() {
+      return profiler;
+   }
+
+   /**
+    * @return the number of game objects rendered since the last {@link #resetStatistics()}
+    */
+   public int getDrawnCount() {
+      return drawnCount;
+   }
+
+   /**
+    * @return the number of game objects culled since the last {@link #resetStatistics()}
+    */
+   public int getCulledCount() {
+      return culledCount;
+   }
+
+   public void resetStatistics() {
+      drawnCount = 0;
+      culledCount = 0;
+   }
+
    public void render(GameObject object, float delta) {
       final GameObjectRenderer renderer = rendererMap.get(object.getType());
       if (renderer != null) {
-         renderer.render(object, batch, delta);
+         if (cullingCamera != null && isCulled(object, marginOf(object.getType()))) {
+            culledCount++;
+            return;
+         }
+         drawnCount++;
+         if (profiler == null) {
+            renderer.render(object, batch, delta);
+         } else {
+            long start = System.nanoTime();
+            renderer.render(object, batch, delta);
+            profiler.record(renderer.getClass(), Profiler.Phase.RENDER, start);
+         }
       }
    }
 
    public void register(Object gameObjectType, GameObjectRenderer renderer) {
+      register(gameObjectType, renderer, 0f);
+   }
+
+   /**
+    * Registers a renderer for the given type.
+    *
+    * @param gameObjectType the type of game objects to render
+    * @param renderer       the renderer
+    * @param cullingMargin  the distance the renderer might draw beyond the bounds of game objects
+    */
+   public void register(Object gameObjectType, GameObjectRenderer renderer, float cullingMargin) {
       if (!rendererMap.containsKey(gameObjectType)) {
          renderer.init();
          rendererMap.put(gameObjectType, renderer);
+         if (gameObjectType != null) {
+            cullingMargins.put(gameObjectType, Math.max(0f, cullingMargin));
+         }
       }
    }
 
    public void unregister(Object gameObjectType) {
       rendererMap.remove(gameObjectType);
+      if (gameObjectType != null) {
+         cullingMargins.remove(gameObjectType, 0f);
+      }
    }
 
    @Override
@@ -75,6 +166,66 @@ public class GameObjectRenderManager implements Disposable {
          }
       }
       rendererMap.clear();
+      cullingMargins.clear();
+   }
+
+   private float marginOf(Object gameObjectType) {
+      return gameObjectType != null ? cullingMargins.get(gameObjectType, 0f) : 0f;
+   }
+
+   private boolean isCulled(GameObject object, float margin) {
+      final float width = object.getWidth();
+      final float height = object.getHeight();
+      if (width == 0f || height == 0f) {
+         // the extent of the game object is unknown
+         return false;
+      }
+      // SpriteRenderer rotates and scales around the center while AnimationRenderer uses the
+      // origin of the game object: cull against the union of both
+      computeBounds(object, width / 2f, height / 2f, bounds);
+      if (object.getOriginX() != width / 2f || object.getOriginY() != height / 2f) {
+         computeBounds(object, object.getOriginX(), object.getOriginY(), originBounds);
+         bounds.merge(originBounds);
+      }
+      final float halfViewWidth = cullingCamera.viewportWidth * cullingCamera.zoom / 2f;
+      final float halfViewHeight = cullingCamera.viewportHeight * cullingCamera.zoom / 2f;
+      final float cameraX = cullingCamera.position.x;
+      final float cameraY = cullingCamera.position.y;
+      return bounds.x + bounds.width + margin < cameraX - halfViewWidth
+            || bounds.x - margin > cameraX + halfViewWidth
+            || bounds.y + bounds.height + margin < cameraY - halfViewHeight
+            || bounds.y - margin > cameraY + halfViewHeight;
+   }
+
+   private static void computeBounds(GameObject object, float originX, float originY, Rectangle out) {
+      final float width = object.getWidth();
+      final float height = object.getHeight();
+      final float scaleX = object.getScaleX();
+      final float scaleY = object.getScaleY();
+      final float pivotX = object.getLeft() + object.getOffsetX() + originX;
+      final float pivotY = object.getTop() + object.getOffsetY() + originY;
+      final float x1 = -originX * scaleX;
+      final float y1 = -originY * scaleY;
+      final float x2 = (width - originX) * scaleX;
+      final float y2 = (height - originY) * scaleY;
+      float minX, minY, maxX, maxY;
+      final float rotation = object.getRotation();
+      if (rotation == 0f) {
+         minX = Math.min(x1, x2);
+         maxX = Math.max(x1, x2);
+         minY = Math.min(y1, y2);
+         maxY = Math.max(y1, y2);
+      } else {
+         final float cos = MathUtils.cosDeg(rotation);
+         final float sin = MathUtils.sinDeg(rotation);
+         final float ax = cos * x1, bx = cos * x2, ay = sin * y1, by = sin * y2;
+         final float cx = sin * x1, dx = sin * x2, cy = cos * y1, dy = cos * y2;
+         minX = Math.min(ax, bx) - Math.max(ay, by);
+         maxX = Math.max(ax, bx) - Math.min(ay, by);
+         minY = Math.min(cx, dx) + Math.min(cy, dy);
+         maxY = Math.max(cx, dx) + Math.max(cy, dy);
+      }
+      out.set(pivotX + minX, pivotY + minY, maxX - minX, maxY - minY);
    }
 
    public static interface GameObjectRenderer {
@@ -12,7 +12,7 @@ public class GameObjectRenderManagerAdapter extends GameWorldListener {
    }
 
    @Override
-   public void onUpdate(GameObject object, float delta) {
+   public void onRender(GameObject object, float delta) {
       manager.render(object, delta);
    }
 }
@@ -8,6 +8,7 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import de.bitbrain.braingdx.graphics.GameObjectRenderManager;
 import de.bitbrain.braingdx.util.Enabler;
+import de.bitbrain.braingdx.world.FloatAttributeKey;
 import de.bitbrain.braingdx.world.GameObject;
 
 /**
@@ -38,9 +39,7 @@ public class AnimationRenderer implements GameObjectRenderManager.GameObjectRend
       }
    };
 
-   private class AnimationState {
-      public float stateTime;
-   }
+   private static final FloatAttributeKey STATE_TIME = new FloatAttributeKey("animation_state_time");
 
    private final AnimationConfig config;
    private final AnimationCache animationCache;
@@ -91,12 +90,12 @@ public class AnimationRenderer implements GameObjectRenderManager.GameObjectRend
 
    private TextureRegion retrieveRegionFor(GameObject object, float delta) {
       Object currentAnimationType = animationTypeResolver.getAnimationType(object);
-      AnimationState state = (AnimationState) object.getOrSetAttribute(AnimationState.class, new AnimationState());
-      state.stateTime += delta;
+      float stateTime = object.getAttribute(STATE_TIME, 0f) + delta;
+      object.setTransientAttribute(STATE_TIME, stateTime);
       Animation<TextureRegion> animation = animationCache.getAnimation(currentAnimationType);
       boolean animationEnabled = animationEnabler.isEnabledFor(object);
       AnimationFrames frames = config.getFrames(currentAnimationType);
-      return animation.getKeyFrame(animationEnabled ? state.stateTime : frames.getDuration() * frames.getResetIndex());
+      return animation.getKeyFrame(animationEnabled ? stateTime : frames.getDuration() * frames.getResetIndex());
    }
 
    private void drawRegion(Batch batch, TextureRegion region, GameObject object) {
@@ -15,7 +15,7 @@ public class WorldRenderLayer extends AbstractRenderLayer {
    @Override
    public void render(Batch batch, float delta) {
       batch.begin();
-      world.update(delta);
+      world.render(delta);
       batch.end();
    }
 
@@ -13,7 +13,7 @@ class CollisionCalculator {
    public static void updateCollision(GameObject gameObject, boolean collision, int tileX, int tileY, int currentLayerIndex, State state) {
       state.getState(tileX, tileY, currentLayerIndex).setCollision(collision);
       state.getState(tileX, tileY, currentLayerIndex).setFingerprint(
-            collision ? gameObject.getId() : null
+            collision ? gameObject.getHandle() : 0L
       );
    }
 }
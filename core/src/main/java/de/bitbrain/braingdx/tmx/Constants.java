@@ -15,6 +15,8 @@
 
 package de.bitbrain.braingdx.tmx;
 
+import de.bitbrain.braingdx.world.IntAttributeKey;
+
 /**
  * Contains constants for TMX.
  *
@@ -30,8 +32,11 @@ interface Constants {
    String HEIGHT = "height";
    String TYPE = "type";
    String COLLISION = "collision";
-   String LAYER_INDEX = "tmx_layer_index";
-   String LAST_LAYER_INDEX = "tmx_last_layer_index";
+   IntAttributeKey LAYER_INDEX = new IntAttributeKey("tmx_layer_index");
+   IntAttributeKey LAST_LAYER_INDEX = new IntAttributeKey("tmx_last_layer_index");
+   IntAttributeKey COLLISION_LAYER_INDEX = new IntAttributeKey("tmx_collision_layer_index");
+   IntAttributeKey COLLISION_TILE_X = new IntAttributeKey("tmx_collision_tile_x");
+   IntAttributeKey COLLISION_TILE_Y = new IntAttributeKey("tmx_collision_tile_y");
    String COLOR = "color";
    String STICKY = "sticky";
    String PRODUCER = "producer";
@@ -81,13 +81,13 @@ class GameObjectUpdater extends BehaviorAdapter {
       // and last position is not occupied
       Vector2 lastPosition = object.getLastPosition();
       currentPosition.set(object.getLeft(), object.getTop());
-      int lastLayerIndex = (Integer) object.getOrSetAttribute("lastLayerIndex", api.lastLayerIndexOf(object));
+      int lastLayerIndex = object.getOrSetAttribute(Constants.COLLISION_LAYER_INDEX, api.lastLayerIndexOf(object));
       int currentLayerIndex = api.layerIndexOf(object);
       if (lastLayerIndex != currentLayerIndex || !currentPosition.equals(lastPosition)) {
          Gdx.app.debug("TiledMapAPI", "Updating collision of " + object);
          // Object has moved, now check if last position is already occupied
-         int lastTileX = (Integer) object.getOrSetAttribute("lastTileX", IndexCalculator.calculateIndex(lastPosition.x, api.getCellWidth()));
-         int lastTileY = (Integer) object.getOrSetAttribute("lastTileY", IndexCalculator.calculateIndex(lastPosition.y, api.getCellHeight()));
+         int lastTileX = object.getOrSetAttribute(Constants.COLLISION_TILE_X, IndexCalculator.calculateIndex(lastPosition.x, api.getCellWidth()));
+         int lastTileY = object.getOrSetAttribute(Constants.COLLISION_TILE_Y, IndexCalculator.calculateIndex(lastPosition.y, api.getCellHeight()));
          GameObject occupant = api.getGameObjectAt(lastTileX, lastTileY, lastLayerIndex);
 
          // clear last collision
@@ -121,22 +121,24 @@ class GameObjectUpdater extends BehaviorAdapter {
       }
       if (lastLayerIndex != currentLayerIndex) {
          Gdx.app.debug("TiledMapAPI", "Tiled map layer change of " + object + " from " + lastLayerIndex + " -> " + currentLayerIndex);
-         gameEventManager.publish(new TiledMapEvents.OnLayerChangeEvent(lastLayerIndex, currentLayerIndex, object, api));
+         gameEventManager.enqueue(gameEventManager.obtain(TiledMapEvents.OnLayerChangeEvent.class)
+               .set(lastLayerIndex, currentLayerIndex, object, api));
 
       }
       if (!currentPosition.equals(lastPosition)) {
          int xIndex = IndexCalculator.calculateIndex(currentPosition.x, api.getCellWidth());
          int yIndex = IndexCalculator.calculateIndex(currentPosition.y, api.getCellHeight());
-         gameEventManager.publish(new TiledMapEvents.OnEnterCellEvent(xIndex, yIndex, object, api));
+         gameEventManager.enqueue(gameEventManager.obtain(TiledMapEvents.OnEnterCellEvent.class)
+               .set(xIndex, yIndex, object, api));
       }
-      object.setAttribute("lastTileX", IndexCalculator.calculateIndex(object.getLeft(), api.getCellWidth()));
-      object.setAttribute("lastTileY", IndexCalculator.calculateIndex(object.getTop(), api.getCellHeight()));
-      object.setAttribute("lastLayerIndex", api.layerIndexOf(object));
+      object.setAttribute(Constants.COLLISION_TILE_X, IndexCalculator.calculateIndex(object.getLeft(), api.getCellWidth()));
+      object.setAttribute(Constants.COLLISION_TILE_Y, IndexCalculator.calculateIndex(object.getTop(), api.getCellHeight()));
+      object.setAttribute(Constants.COLLISION_LAYER_INDEX, api.layerIndexOf(object));
    }
 
    private void updateLayerIndex(GameObject object) {
       if (object.hasAttribute(Constants.LAYER_INDEX)) {
-         int layerIndex = (Integer) object.getAttribute(Constants.LAYER_INDEX);
+         int layerIndex = object.getAttribute(Constants.LAYER_INDEX, -1);
          object.setAttribute(Constants.LAST_LAYER_INDEX, layerIndex);
       }
    }
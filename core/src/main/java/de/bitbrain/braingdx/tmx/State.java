@@ -109,6 +109,14 @@ class State {
       return states[tileX][tileY];
    }
 
+   /**
+    * @return the cell states of all layers, indexed by layer. Cells which have never been
+    * accessed are null.
+    */
+   public Map<Integer, CellState[][]> getStates() {
+      return stateMap;
+   }
+
    public void setIndexDimensions(int indexX, int indexY) {
       this.mapIndexWidth = indexX;
       this.mapIndexHeight = indexY;
@@ -127,7 +135,7 @@ class State {
 
    public static class CellState {
       private boolean collision;
-      private Object fingerprint;
+      private long fingerprint;
       private MapProperties properties;
 
       public boolean isCollision() {
@@ -138,12 +146,16 @@ class State {
          this.collision = collision;
       }
 
-      public void setFingerprint(String fingerprint) {
+      public void setFingerprint(long fingerprint) {
          this.fingerprint = fingerprint;
       }
 
-      public boolean isFingerprint(Object fingerprint) {
-         return this.fingerprint != null && this.fingerprint.equals(fingerprint);
+      public long getFingerprint() {
+         return fingerprint;
+      }
+
+      public boolean isFingerprint(long fingerprint) {
+         return this.fingerprint != 0 && this.fingerprint == fingerprint;
       }
 
       public MapProperties getProperties() {
@@ -64,6 +64,7 @@ class StatePopulator {
                         TiledMapConfig config) {
       MapLayers mapLayers = tiledMap.getLayers();
       handleMapProperties(tiledMap.getProperties(), state, config);
+      gameWorld.getPool().prewarm(countMapObjects(mapLayers));
       List<String> layerIds = new ArrayList<String>();
       int lastTileLayerIndex = 0;
       for (int i = 0; i < mapLayers.getCount(); ++i) {
@@ -87,6 +88,17 @@ class StatePopulator {
       handleDebugTileLayer(state, camera, rendererFactory, config);
    }
 
+   private int countMapObjects(MapLayers mapLayers) {
+      int count = 0;
+      for (int i = 0; i < mapLayers.getCount(); ++i) {
+         MapLayer mapLayer = mapLayers.get(i);
+         if (!(mapLayer instanceof TiledMapTileLayer)) {
+            count += mapLayer.getObjects().getCount();
+         }
+      }
+      return count;
+   }
+
    private void handleMapProperties(MapProperties properties, State state, TiledMapConfig config) {
       state.setIndexDimensions(properties.get(config.get(Constants.WIDTH), Integer.class),
             properties.get(config.get(Constants.HEIGHT), Integer.class));
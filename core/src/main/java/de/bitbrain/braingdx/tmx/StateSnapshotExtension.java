@@ -0,0 +1,97 @@
+package de.bitbrain.braingdx.tmx;
+
+import com.badlogic.gdx.utils.LongMap;
+import de.bitbrain.braingdx.ai.pathfinding.AStarPathFinder;
+import de.bitbrain.braingdx.world.GameObject;
+import de.bitbrain.braingdx.world.GameWorldSnapshot;
+import de.bitbrain.braingdx.world.SnapshotInput;
+import de.bitbrain.braingdx.world.SnapshotOutput;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Stores the collision state of the currently loaded tiled map within a {@link GameWorldSnapshot}.
+ * Collisions caused by game objects are remapped to the restored game objects.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+class StateSnapshotExtension implements GameWorldSnapshot.Extension {
+
+   private final State state;
+   private final AStarPathFinder pathFinder;
+
+   public StateSnapshotExtension(State state, AStarPathFinder pathFinder) {
+      this.state = state;
+      this.pathFinder = pathFinder;
+   }
+
+   @Override
+   public void write(SnapshotOutput out) throws IOException {
+      out.writeInt(state.getMapIndexWidth());
+      out.writeInt(state.getMapIndexHeight());
+      out.writeInt(state.getStates().size());
+      for (Map.Entry<Integer, State.CellState[][]> entry : state.getStates().entrySet()) {
+         State.CellState[][] cells = entry.getValue();
+         int count = 0;
+         for (State.CellState[] column : cells) {
+            for (State.CellState cell : column) {
+               if (cell != null) {
+                  count++;
+               }
+            }
+         }
+         out.writeInt(entry.getKey());
+         out.writeInt(count);
+         for (int x = 0; x < cells.length; ++x) {
+            for (int y = 0; y < cells[x].length; ++y) {
+               State.CellState cell = cells[x][y];
+               if (cell != null) {
+                  out.writeInt(x);
+                  out.writeInt(y);
+                  out.writeBoolean(cell.isCollision());
+                  out.writeLong(cell.getFingerprint());
+               }
+            }
+         }
+      }
+   }
+
+   @Override
+   public void read(SnapshotInput in, LongMap<GameObject> handles) throws IOException {
+      int width = in.readInt();
+      int height = in.readInt();
+      if (width != state.getMapIndexWidth() || height != state.getMapIndexHeight()) {
+         throw new IOException("Unable to restore tiled map state: expected dimensions " + state.getMapIndexWidth()
+               + "x" + state.getMapIndexHeight() + " but got " + width + "x" + height);
+      }
+      for (State.CellState[][] cells : state.getStates().values()) {
+         for (State.CellState[] column : cells) {
+            for (State.CellState cell : column) {
+               if (cell != null) {
+                  cell.setCollision(false);
+                  cell.setFingerprint(0L);
+               }
+            }
+         }
+      }
+      for (int layers = in.readInt(); layers > 0; --layers) {
+         int layerIndex = in.readInt();
+         for (int count = in.readInt(); count > 0; --count) {
+            State.CellState cell = state.getState(in.readInt(), in.readInt(), layerIndex);
+            boolean collision = in.readBoolean();
+            long fingerprint = in.readLong();
+            if (fingerprint != 0L) {
+               GameObject object = handles.get(fingerprint);
+               // collisions of game objects which have not been restored are dropped
+               collision = collision && object != null;
+               fingerprint = object != null ? object.getHandle() : 0L;
+            }
+            cell.setCollision(collision);
+            cell.setFingerprint(fingerprint);
+         }
+      }
+      pathFinder.refresh();
+   }
+}
@@ -35,6 +35,7 @@ class TiledMapAPIImpl implements TiledMapAPI {
    private final GameEventManager gameEventManager;
    private final GameWorld gameWorld;
    private final GameEventRouter eventRouter;
+   private final TileVisitor tileVisitor = new TileVisitor();
    private boolean debug;
 
    public TiledMapAPIImpl(State state, GameWorld gameWorld, GameEventRouter router, GameEventManager gameEventManager) {
@@ -68,17 +69,13 @@ class TiledMapAPIImpl implements TiledMapAPI {
 
    @Override
    public int layerIndexOf(GameObject object) {
-      if (object.hasAttribute(Constants.LAYER_INDEX)) {
-         return (Integer) object.getAttribute(Constants.LAYER_INDEX);
-      } else {
-         return -1;
-      }
+      return object.getAttribute(Constants.LAYER_INDEX, -1);
    }
 
    @Override
    public int lastLayerIndexOf(GameObject object) {
       if (object.hasAttribute(Constants.LAST_LAYER_INDEX)) {
-         return (Integer) object.getAttribute(Constants.LAST_LAYER_INDEX);
+         return object.getAttribute(Constants.LAST_LAYER_INDEX, -1);
       } else {
          return layerIndexOf(object);
       }
@@ -104,15 +101,14 @@ class TiledMapAPIImpl implements TiledMapAPI {
 
    @Override
    public GameObject getGameObjectAt(int tileX, int tileY, int layer) {
-      for (GameObject worldObject : gameWorld) {
-         int objectTileX = IndexCalculator.calculateXIndex(worldObject, state);
-         int objectTileY = IndexCalculator.calculateYIndex(worldObject, state);
-         int layerIndex = layerIndexOf(worldObject);
-         if (objectTileX == tileX && objectTileY == tileY && layer == layerIndex) {
-            return worldObject;
-         }
-      }
-      return null;
+      tileVisitor.tileX = tileX;
+      tileVisitor.tileY = tileY;
+      tileVisitor.layer = layer;
+      tileVisitor.result = null;
+      gameWorld.forEach(tileVisitor);
+      GameObject result = tileVisitor.result;
+      tileVisitor.result = null;
+      return result;
    }
 
    @Override
@@ -139,7 +135,7 @@ class TiledMapAPIImpl implements TiledMapAPI {
          return true;
       }
       return state.getState(tileX, tileY, layer).isCollision()
-            && !state.getState(tileX, tileY, layer).isFingerprint(source.getId());
+            && !state.getState(tileX, tileY, layer).isFingerprint(source.getHandle());
    }
 
    @Override
@@ -148,7 +144,7 @@ class TiledMapAPIImpl implements TiledMapAPI {
          return true;
       }
       return state.getState(tileX, tileY, layer).isCollision()
-            && state.getState(tileX, tileY, layer).isFingerprint(source.getId());
+            && state.getState(tileX, tileY, layer).isFingerprint(source.getHandle());
    }
 
    @Override
@@ -176,7 +172,7 @@ class TiledMapAPIImpl implements TiledMapAPI {
          return true;
       }
       return state.getState(tileX, tileY, layer).isCollision()
-            && !state.getState(tileX, tileY, layer).isFingerprint(object.getId());
+            && !state.getState(tileX, tileY, layer).isFingerprint(object.getHandle());
    }
 
    @Override
@@ -187,7 +183,7 @@ class TiledMapAPIImpl implements TiledMapAPI {
          return true;
       }
       return state.getState(tileX, tileY, layer).isCollision()
-            && state.getState(tileX, tileY, layer).isFingerprint(object.getId());
+            && state.getState(tileX, tileY, layer).isFingerprint(object.getHandle());
    }
 
    @Override
@@ -227,4 +223,20 @@ class TiledMapAPIImpl implements TiledMapAPI {
       this.debug = enabled;
    }
 
+   private class TileVisitor implements GameWorld.Visitor {
+
+      int tileX, tileY, layer;
+      GameObject result;
+
+      @Override
+      public boolean visit(GameObject object) {
+         int objectTileX = IndexCalculator.calculateXIndex(object, state);
+         int objectTileY = IndexCalculator.calculateYIndex(object, state);
+         if (objectTileX == tileX && objectTileY == tileY && layer == layerIndexOf(object)) {
+            result = object;
+            return false;
+         }
+         return true;
+      }
+   }
 }
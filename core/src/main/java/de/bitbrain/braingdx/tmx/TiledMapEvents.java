@@ -1,22 +1,31 @@
 package de.bitbrain.braingdx.tmx;
 
 import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.Pool;
 import de.bitbrain.braingdx.event.GameEvent;
 import de.bitbrain.braingdx.world.GameObject;
 
 public final class TiledMapEvents {
 
-   public static class OnLayerChangeEvent implements GameEvent {
-      private final int lastLayerIndex;
-      private final int currentLayerIndex;
-      private final GameObject object;
-      private final TiledMapAPI api;
+   public static class OnLayerChangeEvent implements GameEvent, Pool.Poolable {
+      private int lastLayerIndex;
+      private int currentLayerIndex;
+      private GameObject object;
+      private TiledMapAPI api;
+
+      OnLayerChangeEvent() {
+      }
 
       public OnLayerChangeEvent(int lastLayerIndex, int currentLayerIndex, GameObject object, TiledMapAPI api) {
+         set(lastLayerIndex, currentLayerIndex, object, api);
+      }
+
+      OnLayerChangeEvent set(int lastLayerIndex, int currentLayerIndex, GameObject object, TiledMapAPI api) {
          this.lastLayerIndex = lastLayerIndex;
          this.currentLayerIndex = currentLayerIndex;
          this.object = object;
          this.api = api;
+         return this;
       }
 
       public int getLastLayerIndex() {
@@ -34,19 +43,32 @@ public final class TiledMapEvents {
       public TiledMapAPI getApi() {
          return api;
       }
+
+      @Override
+      public void reset() {
+         set(0, 0, null, null);
+      }
    }
 
-   public static class OnEnterCellEvent implements GameEvent {
-      private final int xIndex;
-      private final int yIndex;
-      private final GameObject object;
-      private final TiledMapAPI api;
+   public static class OnEnterCellEvent implements GameEvent, Pool.Poolable {
+      private int xIndex;
+      private int yIndex;
+      private GameObject object;
+      private TiledMapAPI api;
+
+      OnEnterCellEvent() {
+      }
 
       public OnEnterCellEvent(int xIndex, int yIndex, GameObject object, TiledMapAPI api) {
+         set(xIndex, yIndex, object, api);
+      }
+
+      OnEnterCellEvent set(int xIndex, int yIndex, GameObject object, TiledMapAPI api) {
          this.xIndex = xIndex;
          this.yIndex = yIndex;
          this.object = object;
          this.api = api;
+         return this;
       }
 
       public int getxIndex() {
@@ -64,6 +86,11 @@ public final class TiledMapEvents {
       public TiledMapAPI getApi() {
          return api;
       }
+
+      @Override
+      public void reset() {
+         set(0, 0, null, null);
+      }
    }
 
    public static class OnLoadGameObjectEvent implements GameEvent {
@@ -19,6 +19,7 @@ import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.utils.Disposable;
 import de.bitbrain.braingdx.ai.pathfinding.PathFinder;
+import de.bitbrain.braingdx.world.GameWorldSnapshot;
 
 /**
  * This manager gives extended support for {@link TiledMap} objects. It features an API to query the
@@ -37,4 +38,12 @@ public interface TiledMapManager extends Disposable {
    TiledMapAPI getAPI();
 
    PathFinder getPathFinder();
+
+   /**
+    * Provides an extension which stores the collision state of the loaded map within a
+    * {@link GameWorldSnapshot}. Snapshots can only be restored into the map they have been taken of.
+    *
+    * @return the snapshot extension of this manager
+    */
+   GameWorldSnapshot.Extension getSnapshotExtension();
 }
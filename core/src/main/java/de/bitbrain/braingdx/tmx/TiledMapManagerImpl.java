@@ -26,6 +26,7 @@ import de.bitbrain.braingdx.event.GameEventRouter;
 import de.bitbrain.braingdx.graphics.GameObjectRenderManager;
 import de.bitbrain.braingdx.world.GameObject;
 import de.bitbrain.braingdx.world.GameWorld;
+import de.bitbrain.braingdx.world.GameWorldSnapshot;
 import de.bitbrain.braingdx.world.SimpleWorldBounds;
 
 import java.util.HashMap;
@@ -51,6 +52,7 @@ public class TiledMapManagerImpl implements TiledMapManager {
    private final AStarPathFinder pathFinder;
    private final GameEventManager gameEventManager;
    private final GameEventRouter router;
+   private final StateSnapshotExtension snapshotExtension;
    private final GameEventRouter.GameEventInfoExtractor infoExtractor = new GameEventRouter.GameEventInfoExtractor() {
 
       @Override
@@ -85,6 +87,7 @@ public class TiledMapManagerImpl implements TiledMapManager {
       this.gameObjectUpdater = new GameObjectUpdater(api, state, gameEventManager);
       this.factories = createFactories();
       this.pathFinder = new AStarPathFinder(api, 100, false);
+      this.snapshotExtension = new StateSnapshotExtension(state, pathFinder);
    }
 
    @Override
@@ -120,6 +123,7 @@ public class TiledMapManagerImpl implements TiledMapManager {
       gameEventManager.publish(new TiledMapEvents.BeforeUnloadEvent(api));
       behaviorManager.remove(gameObjectUpdater);
       gameWorld.clear();
+      router.clear();
       for (String id : state.getLayerIds()) {
          renderManager.unregister(id);
       }
@@ -154,4 +158,9 @@ public class TiledMapManagerImpl implements TiledMapManager {
       return this.pathFinder;
    }
 
+   @Override
+   public GameWorldSnapshot.Extension getSnapshotExtension() {
+      return snapshotExtension;
+   }
+
 }
@@ -0,0 +1,136 @@
+package de.bitbrain.braingdx.util;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Multi-producer/single-consumer buffer of deferred commands. Any thread may enqueue commands
+ * without taking a lock, while commands are only executed on {@link #flush()} by the thread
+ * which created this buffer.
+ * <p>
+ * Commands are pooled: the owning thread reuses flushed commands, other threads allocate new
+ * ones which get pooled after they have been flushed.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class CommandBuffer {
+
+   /**
+    * Executes commands of a buffer.
+    */
+   public interface Executor {
+      void execute(int opcode, long value, Object a, Object b);
+   }
+
+   private final AtomicReference<Command> pending = new AtomicReference<Command>();
+   private final Thread owner;
+   private Command free;
+   private int size;
+
+   public CommandBuffer() {
+      this.owner = Thread.currentThread();
+   }
+
+   /**
+    * @return true if called by the thread which owns this buffer
+    */
+   public boolean isOwnerThread() {
+      return Thread.currentThread() == owner;
+   }
+
+   /**
+    * Enqueues a new command. This method can be called from any thread.
+    *
+    * @param executor the executor of the command
+    * @param opcode   identifies the command within the executor
+    * @param value    a primitive argument, e.g. the handle of a game object
+    * @param a        the first argument
+    * @param b        the second argument
+    */
+   public void enqueue(Executor executor, int opcode, long value, Object a, Object b) {
+      Command command = obtain();
+      command.executor = executor;
+      command.opcode = opcode;
+      command.value = value;
+      command.a = a;
+      command.b = b;
+      Command head;
+      do {
+         head = pending.get();
+         command.next = head;
+      } while (!pending.compareAndSet(head, command));
+   }
+
+   /**
+    * Executes all pending commands in the order they have been enqueued. Commands which get
+    * enqueued while flushing are executed as well. Must be called by the owning thread.
+    *
+    * @return the number of executed commands
+    */
+   public int flush() {
+      int executed = 0;
+      Command head;
+      while ((head = pending.getAndSet(null)) != null) {
+         // commands are pushed onto a stack, so reverse them first
+         Command ordered = null;
+         while (head != null) {
+            Command next = head.next;
+            head.next = ordered;
+            ordered = head;
+            head = next;
+         }
+         while (ordered != null) {
+            Command command = ordered;
+            ordered = command.next;
+            Executor executor = command.executor;
+            int opcode = command.opcode;
+            long value = command.value;
+            Object a = command.a;
+            Object b = command.b;
+            free(command);
+            executor.execute(opcode, value, a, b);
+            executed++;
+         }
+      }
+      return executed;
+   }
+
+   public boolean isEmpty() {
+      return pending.get() == null;
+   }
+
+   /**
+    * @return the number of pooled commands
+    */
+   public int getFreeCount() {
+      return size;
+   }
+
+   private Command obtain() {
+      if (isOwnerThread() && free != null) {
+         Command command = free;
+         free = command.next;
+         command.next = null;
+         size--;
+         return command;
+      }
+      return new Command();
+   }
+
+   private void free(Command command) {
+      command.executor = null;
+      command.a = null;
+      command.b = null;
+      command.next = free;
+      free = command;
+      size++;
+   }
+
+   private static class Command {
+      Executor executor;
+      int opcode;
+      long value;
+      Object a, b;
+      Command next;
+   }
+}
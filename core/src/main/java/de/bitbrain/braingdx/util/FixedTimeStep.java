@@ -0,0 +1,64 @@
+package de.bitbrain.braingdx.util;
+
+/**
+ * Accumulates variable frame deltas and splits them into fixed simulation steps. The remaining
+ * fraction of a step is exposed as interpolation alpha. A time step of 0 disables fixed stepping:
+ * every frame results in a single step of the frame delta.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class FixedTimeStep {
+
+   /**
+    * the maximum frame delta which gets accumulated, so slow frames do not pile up simulation steps
+    */
+   public static final float MAX_FRAME_DELTA = 0.25f;
+
+   private float timeStep;
+   private float accumulator;
+
+   public FixedTimeStep(float timeStep) {
+      setTimeStep(timeStep);
+   }
+
+   public void setTimeStep(float timeStep) {
+      this.timeStep = Math.max(0f, timeStep);
+      this.accumulator = 0f;
+   }
+
+   public float getTimeStep() {
+      return timeStep;
+   }
+
+   public boolean isEnabled() {
+      return timeStep > 0f;
+   }
+
+   /**
+    * Accumulates the given frame delta, clamped to {@link #MAX_FRAME_DELTA}.
+    *
+    * @param delta the frame delta
+    * @return the number of fixed steps to simulate
+    */
+   public int advance(float delta) {
+      if (!isEnabled()) {
+         return 1;
+      }
+      accumulator += Math.min(delta, MAX_FRAME_DELTA);
+      int steps = 0;
+      while (accumulator >= timeStep) {
+         accumulator -= timeStep;
+         steps++;
+      }
+      return steps;
+   }
+
+   /**
+    * @return the fraction of a time step which has been accumulated but not simulated yet,
+    * or 1 if fixed stepping is disabled
+    */
+   public float getAlpha() {
+      return isEnabled() ? accumulator / timeStep : 1f;
+   }
+}
@@ -0,0 +1,181 @@
+package de.bitbrain.braingdx.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.Comparator;
+
+/**
+ * Records the time spent in behaviors, world listeners and renderers per class. Profiling is
+ * opt-in: a profiler only records timings once it is set on a
+ * {@link de.bitbrain.braingdx.behavior.BehaviorManager},
+ * {@link de.bitbrain.braingdx.world.GameWorld} or
+ * {@link de.bitbrain.braingdx.graphics.GameObjectRenderManager}, which do not measure anything
+ * otherwise. A single profiler can be shared between all of them.
+ * <p>
+ * Timings are kept per class and {@link Phase}. Timings of nested calls are inclusive, e.g. the
+ * listener which dispatches to behaviors also contains the time spent in these behaviors.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class Profiler {
+
+   public static final int DEFAULT_WINDOW = 512;
+
+   /**
+    * The phase a timing has been measured in. Classes which take part in several phases, e.g. a
+    * world listener which updates and renders, get separate timings per phase.
+    */
+   public enum Phase {
+      UPDATE,
+      PAIRWISE_UPDATE,
+      RENDER
+   }
+
+   private static final Phase[] PHASES = Phase.values();
+
+   private final ObjectMap<Class<?>, Entry[]> entries = new ObjectMap<Class<?>, Entry[]>();
+   private final int window;
+
+   public Profiler() {
+      this(DEFAULT_WINDOW);
+   }
+
+   /**
+    * @param window the number of recent samples percentiles are computed over
+    */
+   public Profiler(int window) {
+      this.window = window;
+   }
+
+   /**
+    * Records the time which has passed since the given start within the {@link Phase#UPDATE} phase.
+    *
+    * @param type  the class which has been measured
+    * @param start the start of the measurement obtained from {@link System#nanoTime()}
+    */
+   public void record(Class<?> type, long start) {
+      record(type, Phase.UPDATE, start);
+   }
+
+   /**
+    * Records the time which has passed since the given start.
+    *
+    * @param type  the class which has been measured
+    * @param phase the phase which has been measured
+    * @param start the start of the measurement obtained from {@link System#nanoTime()}
+    */
+   public synchronized void record(Class<?> type, Phase phase, long start) {
+      long nanos = System.nanoTime() - start;
+      Entry[] phases = entries.get(type);
+      if (phases == null) {
+         phases = new Entry[PHASES.length];
+         entries.put(type, phases);
+      }
+      Entry entry = phases[phase.ordinal()];
+      if (entry == null) {
+         entry = new Entry(type, phase, new TimingHistogram(window));
+         phases[phase.ordinal()] = entry;
+      }
+      entry.histogram.record(nanos);
+   }
+
+   /**
+    * @return the timings of the given class within the {@link Phase#UPDATE} phase or null if it
+    * has not been measured yet
+    */
+   public TimingHistogram get(Class<?> type) {
+      return get(type, Phase.UPDATE);
+   }
+
+   /**
+    * @return the timings of the given class within the given phase or null if it has not been
+    * measured yet
+    */
+   public synchronized TimingHistogram get(Class<?> type, Phase phase) {
+      Entry[] phases = entries.get(type);
+      Entry entry = phases != null ? phases[phase.ordinal()] : null;
+      return entry != null ? entry.histogram : null;
+   }
+
+   /**
+    * @return the timings of all measured classes and phases, ordered by their p99 timing in
+    * descending order
+    */
+   public synchronized Array<Entry> getEntries() {
+      Array<Entry> result = new Array<Entry>(entries.size);
+      for (Entry[] phases : entries.values()) {
+         for (Entry entry : phases) {
+            if (entry != null) {
+               result.add(entry);
+            }
+         }
+      }
+      result.sort(new Comparator<Entry>() {
+         @Override
+         public int compare(Entry a, Entry b) {
+            long difference = b.histogram.getP99() - a.histogram.getP99();
+            if (difference != 0) {
+               return difference > 0 ? 1 : -1;
+            }
+            int names = a.type.getName().compareTo(b.type.getName());
+            return names != 0 ? names : a.phase.compareTo(b.phase);
+         }
+      });
+      return result;
+   }
+
+   public synchronized void reset() {
+      entries.clear();
+   }
+
+   /**
+    * Writes the timings of all measured classes and phases in microseconds to the given file,
+    * one entry per line ordered by p99.
+    */
+   public synchronized void dump(FileHandle file) {
+      StringBuilder builder = new StringBuilder("type\tphase\tcount\tmean\tp50\tp99\tmax\n");
+      for (Entry entry : getEntries()) {
+         TimingHistogram histogram = entry.histogram;
+         builder.append(entry.type.getName()).append('\t')
+               .append(entry.phase).append('\t')
+               .append(histogram.getCount()).append('\t')
+               .append(micros(histogram.getMean())).append('\t')
+               .append(micros(histogram.getP50())).append('\t')
+               .append(micros(histogram.getP99())).append('\t')
+               .append(micros(histogram.getMax())).append('\n');
+      }
+      file.writeString(builder.toString(), false);
+   }
+
+   private static String micros(long nanos) {
+      return String.valueOf(nanos / 1000L) + '.' + (nanos % 1000L) / 100L;
+   }
+
+   public static class Entry {
+
+      private final Class<?> type;
+      private final Phase phase;
+      private final TimingHistogram histogram;
+
+      Entry(Class<?> type, Phase phase, TimingHistogram histogram) {
+         this.type = type;
+         this.phase = phase;
+         this.histogram = histogram;
+      }
+
+      public Class<?> getType() {
+         return type;
+      }
+
+      public Phase getPhase() {
+         return phase;
+      }
+
+      public TimingHistogram getHistogram() {
+         return histogram;
+      }
+   }
+}
@@ -0,0 +1,49 @@
+package de.bitbrain.braingdx.util;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Method;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+/**
+ * Reflection helpers which cache their results per class.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public final class ReflectionUtils {
+
+   private static final ObjectMap<String, Boolean> overrides = new ObjectMap<String, Boolean>();
+
+   private ReflectionUtils() {
+   }
+
+   /**
+    * Checks if the given type overrides a public method of the given base class. If the method
+    * can not be resolved, it is considered to be overridden.
+    *
+    * @param type           the type to check
+    * @param base           the class which declares the method
+    * @param name           the name of the method
+    * @param parameterTypes the parameter types of the method
+    * @return true if the method is overridden by the type or any class between type and base
+    */
+   public static synchronized boolean overrides(Class<?> type, Class<?> base, String name, Class<?>... parameterTypes) {
+      StringBuilder key = new StringBuilder(type.getName()).append('#').append(base.getName()).append('#').append(name);
+      for (Class<?> parameterType : parameterTypes) {
+         key.append('#').append(parameterType.getName());
+      }
+      String cacheKey = key.toString();
+      Boolean result = overrides.get(cacheKey);
+      if (result == null) {
+         try {
+            Method method = ClassReflection.getMethod(type, name, parameterTypes);
+            result = method.getDeclaringClass() != base;
+         } catch (ReflectionException e) {
+            result = true;
+         }
+         overrides.put(cacheKey, result);
+      }
+      return result;
+   }
+}
@@ -0,0 +1,104 @@
+package de.bitbrain.braingdx.util;
+
+import java.util.Arrays;
+
+/**
+ * Rolling histogram of timings in nanoseconds. It retains the most recent samples, percentiles
+ * are computed over these samples while count and total cover every recorded sample.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class TimingHistogram {
+
+   private final long[] samples;
+   private long[] sorted;
+   private boolean dirty;
+   private int next;
+   private int size;
+   private long count;
+   private long total;
+   private long max;
+
+   /**
+    * @param window the number of recent samples percentiles are computed over
+    */
+   public TimingHistogram(int window) {
+      if (window <= 0) {
+         throw new IllegalArgumentException("Window must be larger than 0");
+      }
+      this.samples = new long[window];
+   }
+
+   public void record(long nanos) {
+      samples[next] = nanos;
+      next = (next + 1) % samples.length;
+      size = Math.min(size + 1, samples.length);
+      count++;
+      total += nanos;
+      max = Math.max(max, nanos);
+      dirty = true;
+   }
+
+   /**
+    * @return the number of recorded samples
+    */
+   public long getCount() {
+      return count;
+   }
+
+   /**
+    * @return the sum of all recorded samples in nanoseconds
+    */
+   public long getTotal() {
+      return total;
+   }
+
+   /**
+    * @return the largest sample recorded in nanoseconds
+    */
+   public long getMax() {
+      return max;
+   }
+
+   public long getMean() {
+      return count > 0 ? total / count : 0L;
+   }
+
+   /**
+    * @param percentile the percentile between 0 and 1, e.g. 0.99 for p99
+    * @return the given percentile of the recent samples in nanoseconds
+    */
+   public long getPercentile(float percentile) {
+      if (size == 0) {
+         return 0L;
+      }
+      if (dirty) {
+         if (sorted == null) {
+            sorted = new long[samples.length];
+         }
+         System.arraycopy(samples, 0, sorted, 0, size);
+         Arrays.sort(sorted, 0, size);
+         dirty = false;
+      }
+      int index = (int) Math.ceil(Math.max(0f, Math.min(1f, percentile)) * size) - 1;
+      return sorted[Math.max(0, index)];
+   }
+
+   public long getP50() {
+      return getPercentile(0.5f);
+   }
+
+   public long getP99() {
+      return getPercentile(0.99f);
+   }
+
+   public void reset() {
+      next = 0;
+      size = 0;
+      count = 0;
+      total = 0;
+      max = 0;
+      dirty = true;
+   }
+}
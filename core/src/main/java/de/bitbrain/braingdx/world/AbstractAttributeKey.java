@@ -0,0 +1,56 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Base of all attribute keys. Every kind of key has its own {@link Registry}, which assigns
+ * consecutive indices and resolves keys by index and name.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+abstract class AbstractAttributeKey {
+
+   private final String name;
+   final int index;
+
+   AbstractAttributeKey(String name, Registry<?> registry) {
+      this.name = name;
+      this.index = registry.register(this);
+   }
+
+   public String getName() {
+      return name;
+   }
+
+   @Override
+   public String toString() {
+      return getClass().getSimpleName() + " [name=" + name + ", index=" + index + "]";
+   }
+
+   static final class Registry<K extends AbstractAttributeKey> {
+
+      private final Array<K> keys = new Array<K>();
+      private final ObjectMap<String, K> keysByName = new ObjectMap<String, K>();
+
+      synchronized K byIndex(int index) {
+         return index < keys.size ? keys.get(index) : null;
+      }
+
+      synchronized K byName(String name) {
+         return keysByName.get(name);
+      }
+
+      @SuppressWarnings("unchecked")
+      private synchronized int register(AbstractAttributeKey key) {
+         // every kind of key only registers itself within its own registry
+         K typedKey = (K) key;
+         keys.add(typedKey);
+         if (key.name != null && !keysByName.containsKey(key.name)) {
+            keysByName.put(key.name, typedKey);
+         }
+         return keys.size - 1;
+      }
+   }
+}
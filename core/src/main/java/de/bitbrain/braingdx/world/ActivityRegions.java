@@ -0,0 +1,137 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+
+/**
+ * Restricts the simulation of a {@link GameWorld} to the regions around its camera and a set of
+ * anchor objects. The world is split into square cells: game objects within the given radius of
+ * cells around the visible area of the camera or around the cell of an anchor are simulated,
+ * all other game objects are dormant. Persistent game objects are never dormant.
+ * <p>
+ * Dormant game objects do not receive updates or pairwise updates. By default they are frozen,
+ * alternatively they can be ticked every few updates with the time which has passed in the
+ * meantime (see {@link #setDormantTickInterval(int)}).
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class ActivityRegions {
+
+   private final float cellSize;
+   private final int radius;
+   private final Array<GameObject> anchors = new Array<GameObject>();
+   private final LongArray anchorHandles = new LongArray();
+   // active regions as consecutive (minX, minY, maxX, maxY) cell indices
+   private final IntArray regions = new IntArray();
+   private int dormantTickInterval;
+
+   /**
+    * @param cellSize the size of a single cell in world units
+    * @param radius   the number of cells around the camera and anchors which are simulated
+    */
+   public ActivityRegions(float cellSize, int radius) {
+      if (cellSize <= 0f) {
+         throw new IllegalArgumentException("Cell size must be larger than 0");
+      }
+      this.cellSize = cellSize;
+      this.radius = Math.max(0, radius);
+   }
+
+   public float getCellSize() {
+      return cellSize;
+   }
+
+   public int getRadius() {
+      return radius;
+   }
+
+   public int getDormantTickInterval() {
+      return dormantTickInterval;
+   }
+
+   /**
+    * Sets how often dormant game objects get updated. Dormant game objects are updated every
+    * given number of updates with the accumulated time step, staggered across objects. A value
+    * of 0 (default) freezes dormant game objects.
+    *
+    * @param updates the number of updates between two updates of a dormant game object
+    */
+   public void setDormantTickInterval(int updates) {
+      this.dormantTickInterval = Math.max(0, updates);
+   }
+
+   /**
+    * Keeps the region around the given game object simulated, e.g. the player or important
+    * non-player characters. Anchors are released automatically once they get removed.
+    */
+   public void addAnchor(GameObject object) {
+      anchors.add(object);
+      anchorHandles.add(object.getHandle());
+   }
+
+   public void removeAnchor(GameObject object) {
+      int index = anchors.indexOf(object, true);
+      if (index >= 0) {
+         anchors.removeIndex(index);
+         anchorHandles.removeIndex(index);
+      }
+   }
+
+   public void clearAnchors() {
+      anchors.clear();
+      anchorHandles.clear();
+   }
+
+   /**
+    * Computes the active regions for the current update.
+    */
+   void begin(OrthographicCamera camera) {
+      regions.clear();
+      if (camera != null) {
+         float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+         float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+         addRegion(cellOf(camera.position.x - halfWidth) - radius, cellOf(camera.position.y - halfHeight) - radius,
+               cellOf(camera.position.x + halfWidth) + radius, cellOf(camera.position.y + halfHeight) + radius);
+      }
+      for (int i = anchors.size - 1; i >= 0; --i) {
+         GameObject anchor = anchors.get(i);
+         if (anchor.getHandle() != anchorHandles.get(i) || anchor.world == null) {
+            anchors.removeIndex(i);
+            anchorHandles.removeIndex(i);
+            continue;
+         }
+         int cellX = cellOf(anchor.getLeft() + anchor.getWidth() / 2f);
+         int cellY = cellOf(anchor.getTop() + anchor.getHeight() / 2f);
+         addRegion(cellX - radius, cellY - radius, cellX + radius, cellY + radius);
+      }
+   }
+
+   boolean isActive(GameObject object) {
+      if (object.isPersistent()) {
+         return true;
+      }
+      int cellX = cellOf(object.getLeft() + object.getWidth() / 2f);
+      int cellY = cellOf(object.getTop() + object.getHeight() / 2f);
+      int[] items = regions.items;
+      for (int i = 0; i < regions.size; i += 4) {
+         if (cellX >= items[i] && cellY >= items[i + 1] && cellX <= items[i + 2] && cellY <= items[i + 3]) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   private void addRegion(int minX, int minY, int maxX, int maxY) {
+      regions.add(minX);
+      regions.add(minY);
+      regions.add(maxX);
+      regions.add(maxY);
+   }
+
+   private int cellOf(float value) {
+      return (int) Math.floor(value / cellSize);
+   }
+}
@@ -0,0 +1,56 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Broad phase which considers every game object to be in range of every other game object.
+ * Pairwise updates are dispatched for all pairs of active objects, regardless of their distance.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class AllPairsBroadPhase implements BroadPhase {
+
+   private final Array<GameObject> objects = new Array<GameObject>();
+
+   @Override
+   public void add(GameObject object) {
+      objects.add(object);
+   }
+
+   @Override
+   public void remove(GameObject object) {
+      objects.removeValue(object, true);
+   }
+
+   @Override
+   public void update(GameObject object) {
+      // noOp
+   }
+
+   @Override
+   public void clear() {
+      objects.clear();
+   }
+
+   @Override
+   public void collectCandidates(GameObject source, Array<GameObject> result) {
+      for (int i = 0; i < objects.size; ++i) {
+         GameObject object = objects.get(i);
+         if (object != source) {
+            result.add(object);
+         }
+      }
+   }
+
+   @Override
+   public void query(float left, float top, float right, float bottom, Array<GameObject> result) {
+      for (int i = 0; i < objects.size; ++i) {
+         GameObject object = objects.get(i);
+         if (object.getLeft() <= right && object.getRight() >= left
+               && object.getTop() <= bottom && object.getBottom() >= top) {
+            result.add(object);
+         }
+      }
+   }
+}
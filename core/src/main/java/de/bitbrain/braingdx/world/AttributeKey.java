@@ -0,0 +1,28 @@
+package de.bitbrain.braingdx.world;
+
+/**
+ * Key of typed attributes of game objects. Every key gets a small index assigned on creation,
+ * which game objects use to look up the attribute within a compact array instead of a hash map.
+ * Keys are never released, so they should be created once and kept as constants. The name
+ * identifies the key within a {@link GameWorldSnapshot}.
+ *
+ * @param <T> the type of the attribute
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public final class AttributeKey<T> extends AbstractAttributeKey {
+
+   private static final Registry<AttributeKey<?>> REGISTRY = new Registry<AttributeKey<?>>();
+
+   public AttributeKey(String name) {
+      super(name, REGISTRY);
+   }
+
+   static AttributeKey<?> byIndex(int index) {
+      return REGISTRY.byIndex(index);
+   }
+
+   static AttributeKey<?> byName(String name) {
+      return REGISTRY.byName(name);
+   }
+}
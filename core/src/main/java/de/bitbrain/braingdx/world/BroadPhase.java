@@ -0,0 +1,62 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Determines which game objects of a {@link GameWorld} are close enough to each other
+ * to receive pairwise updates. The world keeps its broad phase in sync with the objects
+ * it contains and only dispatches pairwise updates to the candidates provided.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public interface BroadPhase {
+
+   /**
+    * Called whenever a new game object has been added to the world.
+    *
+    * @param object the added game object
+    */
+   void add(GameObject object);
+
+   /**
+    * Called whenever a game object has been removed from the world.
+    *
+    * @param object the removed game object
+    */
+   void remove(GameObject object);
+
+   /**
+    * Called whenever the bounds of the given game object might have changed.
+    *
+    * @param object the game object to update
+    */
+   void update(GameObject object);
+
+   /**
+    * Removes all game objects from this broad phase.
+    */
+   void clear();
+
+   /**
+    * Collects all game objects which are potentially within interaction range of the source.
+    * The source itself is never part of the result.
+    *
+    * @param source the game object to collect candidates for
+    * @param result the array to add the candidates to
+    */
+   void collectCandidates(GameObject source, Array<GameObject> result);
+
+   /**
+    * Collects all game objects whose bounds overlap the given area. Every game object is
+    * added at most once. Implementations are not required to be thread-safe: queries are only
+    * issued from the thread which updates the world.
+    *
+    * @param left   the left border of the area
+    * @param top    the top border of the area
+    * @param right  the right border of the area
+    * @param bottom the bottom border of the area
+    * @param result the array to add the game objects to
+    */
+   void query(float left, float top, float right, float bottom, Array<GameObject> result);
+}
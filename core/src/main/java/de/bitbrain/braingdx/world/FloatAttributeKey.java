@@ -0,0 +1,28 @@
+package de.bitbrain.braingdx.world;
+
+/**
+ * Key of primitive <code>float</code> attributes of game objects. In contrast to {@link AttributeKey},
+ * values are stored without boxing. Every key gets a small index assigned on creation, which game
+ * objects use to look up the attribute within a compact array. Keys are never released, so they
+ * should be created once and kept as constants. The name identifies the key within a
+ * {@link GameWorldSnapshot}.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public final class FloatAttributeKey extends AbstractAttributeKey {
+
+   private static final Registry<FloatAttributeKey> REGISTRY = new Registry<FloatAttributeKey>();
+
+   public FloatAttributeKey(String name) {
+      super(name, REGISTRY);
+   }
+
+   static FloatAttributeKey byIndex(int index) {
+      return REGISTRY.byIndex(index);
+   }
+
+   static FloatAttributeKey byName(String name) {
+      return REGISTRY.byName(name);
+   }
+}
@@ -18,9 +18,13 @@ package de.bitbrain.braingdx.world;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.Pool;
 import de.bitbrain.braingdx.util.Mutator;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -34,54 +38,80 @@ import java.util.UUID;
  */
 public class GameObject implements Pool.Poolable {
 
-   private final Vector2 position, dimensions, lastPosition, offset, origin;
-   private final Vector2 scale;
+   private static final Object[] EMPTY_OBJECTS = new Object[0];
+   private static final int[] EMPTY_INTS = new int[0];
+   private static final float[] EMPTY_FLOATS = new float[0];
+
+   private final Vector2 lastPosition = new Vector2();
+   private TransformStorage transform;
+   private int transformIndex;
+   private TransformStorage ownTransform;
    private String id;
+   long handle;
    private Object type;
-   private Color color = Color.WHITE.cpy();
-   private float rotation;
-
-   private float zIndex;
+   private long typeMask;
+   private long categoryBits;
+   private final Color color = Color.WHITE.cpy();
 
    private Map<Object, Object> attributes;
 
+   private Object[] typedAttributes = EMPTY_OBJECTS;
+   private int[] intAttributes = EMPTY_INTS;
+   private float[] floatAttributes = EMPTY_FLOATS;
+   private final Bits intAttributePresence = new Bits();
+   private final Bits floatAttributePresence = new Bits();
+
    private boolean active;
 
    private boolean persistent;
 
+   GameWorld world;
+
+   boolean zIndexDirty;
+
+   boolean attached;
+
+   boolean interpolated;
+
+   float orderedZIndex;
+
+   private boolean sleeping;
+
+   int idleFrames;
+
+   boolean dormant;
+
+   float dormantDelta;
+
+   float updateDelta;
+
+   boolean changed;
+
    private final Mutator<GameObject> mutator = new Mutator<GameObject>() {
       @Override
       public void mutate(GameObject target) {
-         target.lastPosition.x = lastPosition.x;
-         target.lastPosition.y = lastPosition.y;
-         target.position.x = position.x;
-         target.position.y = position.y;
-         target.dimensions.x = dimensions.x;
-         target.dimensions.y = dimensions.y;
-         target.offset.x = offset.x;
-         target.offset.y = offset.y;
-         target.zIndex = zIndex;
-         target.scale.set(scale.x, scale.y);
-         target.color = color.cpy();
+         transform.copy(transformIndex, target.transform, target.transformIndex);
+         target.setZIndex(getZIndex());
+         target.color.set(color);
          target.attributes.putAll(attributes);
+         target.copyTypedAttributes(GameObject.this);
          target.active = active;
-         target.rotation = rotation;
-         target.origin.x = origin.x;
-         target.origin.y = origin.y;
-         target.type = type;
+         // via the setter, so the type index of the world of the target stays up to date
+         target.setType(type);
+         target.categoryBits = categoryBits;
          target.persistent = persistent;
       }
    };
 
    public GameObject() {
+      this(new TransformStorage(1), 0);
+      ownTransform = transform;
+   }
+
+   GameObject(TransformStorage transform, int transformIndex) {
       attributes = new HashMap<Object, Object>();
-      position = new Vector2();
-      dimensions = new Vector2();
-      lastPosition = new Vector2();
-      offset = new Vector2();
-      scale = new Vector2(1f, 1f);
-      origin = new Vector2();
-      id = UUID.randomUUID().toString();
+      this.transform = transform;
+      this.transformIndex = transformIndex;
       active = true;
    }
 
@@ -100,63 +130,116 @@ public class GameObject implements Pool.Poolable {
    }
 
    public void setType(Object typeId) {
-      this.type = typeId;
+      if (this.type != typeId) {
+         Object previousType = this.type;
+         this.type = typeId;
+         this.typeMask = TypeMask.of(typeId);
+         if (world != null) {
+            world.onTypeChanged(this, previousType);
+         }
+         markChanged();
+      }
+   }
+
+   /**
+    * @return the {@link TypeMask} of the type of this game object
+    */
+   public long getTypeMask() {
+      return typeMask;
+   }
+
+   public long getCategoryBits() {
+      return categoryBits;
+   }
+
+   /**
+    * Assigns this game object to categories, e.g. collision layers. Categories are
+    * arbitrary bits which can be matched by pair filters of behaviors.
+    *
+    * @param categoryBits the category bits of this game object
+    */
+   public void setCategoryBits(long categoryBits) {
+      if (this.categoryBits != categoryBits) {
+         this.categoryBits = categoryBits;
+         markChanged();
+      }
    }
 
    public void setDimensions(float width, float height) {
-      this.dimensions.x = width;
-      this.dimensions.y = height;
+      set(TransformStorage.WIDTH, width);
+      set(TransformStorage.HEIGHT, height);
    }
 
    public void move(float x, float y) {
-      setPosition(this.position.x + x, this.position.y + y);
+      setPosition(getLeft() + x, getTop() + y);
    }
 
    public void setPosition(float x, float y) {
-      setLastPosition(this.position.x, this.position.y);
-      this.position.x = x;
-      this.position.y = y;
+      setLastPosition(getLeft(), getTop());
+      set(TransformStorage.X, x);
+      set(TransformStorage.Y, y);
    }
 
    public void setLastPosition(float x, float y) {
-      this.lastPosition.x = this.position.x;
-      this.lastPosition.y = this.position.y;
+      set(TransformStorage.LAST_X, getLeft());
+      set(TransformStorage.LAST_Y, getTop());
    }
 
    public void setLeft(float x) {
-      this.position.x = x;
+      set(TransformStorage.X, x);
    }
 
    public void setTop(float y) {
-      this.position.y = y;
+      set(TransformStorage.Y, y);
    }
 
    public void setRight(float x) {
-      this.position.x = x - getWidth();
+      set(TransformStorage.X, x - getWidth());
    }
 
    public void setBottom(float y) {
-      this.position.y = y - getHeight();
+      set(TransformStorage.Y, y - getHeight());
    }
 
    public void setOrigin(float x, float y) {
-      this.origin.set(x, y);
+      set(TransformStorage.ORIGIN_X, x);
+      set(TransformStorage.ORIGIN_Y, y);
    }
 
    public float getOriginX() {
-      return origin.x;
+      return get(TransformStorage.ORIGIN_X);
    }
 
    public float getOriginY() {
-      return origin.y;
+      return get(TransformStorage.ORIGIN_Y);
    }
 
    public float getLeft() {
-      return this.position.x;
+      return get(TransformStorage.X);
    }
 
    public float getTop() {
-      return this.position.y;
+      return get(TransformStorage.Y);
+   }
+
+   /**
+    * Provides the horizontal position this game object is rendered at: interpolated between the
+    * previous and the current world update when the world simulates with a fixed time step.
+    *
+    * @return the interpolated left position
+    */
+   public float getInterpolatedLeft() {
+      return interpolate(TransformStorage.PREVIOUS_X, TransformStorage.X);
+   }
+
+   /**
+    * Provides the vertical position this game object is rendered at: interpolated between the
+    * previous and the current world update when the world simulates with a fixed time step.
+    *
+    * @return the interpolated top position
+    */
+   public float getInterpolatedTop() {
+      return interpolate(TransformStorage.PREVIOUS_Y, TransformStorage.Y);
    }
 
    public float getRight() {
@@ -168,37 +251,111 @@ public class GameObject implements Pool.Poolable {
    }
 
    public float getWidth() {
-      return this.dimensions.x;
+      return get(TransformStorage.WIDTH);
    }
 
    public float getHeight() {
-      return this.dimensions.y;
+      return get(TransformStorage.HEIGHT);
    }
 
    public float getLastLeft() {
-      return lastPosition.x;
+      return get(TransformStorage.LAST_X);
    }
 
    public float getLastTop() {
-      return lastPosition.y;
+      return get(TransformStorage.LAST_Y);
    }
 
+   /**
+    * Provides the last position of this game object. The returned vector is a view which
+    * gets refreshed on every call: changing it has no effect on this game object.
+    *
+    * @return the last position of this game object
+    */
    public Vector2 getLastPosition() {
-      return lastPosition;
-   }
-
+      return lastPosition.set(getLastLeft(), getLastTop());
+   }
+
+   /**
+    * Provides the storage which holds the transform of this game object.
+    *
+    * @return the transform storage of this game object
+    */
+   public TransformStorage getTransformStorage() {
+      return transform;
+   }
+
+   /**
+    * Provides the index of this game object within its {@link TransformStorage}.
+    *
+    * @return the transform index of this game object
+    */
+   public int getTransformIndex() {
+      return transformIndex;
+   }
+
+   /**
+    * Provides the handle of this game object. The handle is assigned by the {@link GameWorld}
+    * this object belongs to and is unique within that world, even after this object has been
+    * removed and reused. Game objects which do not belong to a world have a handle of 0.
+    *
+    * @return the handle of this game object
+    */
+   public long getHandle() {
+      return handle;
+   }
+
+   /**
+    * Provides the slot of this game object, a small index which is unique among the game
+    * objects of its world. Slots are reused after a game object has been removed, so data
+    * indexed by slot should also keep track of the {@link #getHandle() handle}.
+    *
+    * @return the slot of this game object
+    */
+   public int getSlot() {
+      return slotOf(handle);
+   }
+
+   /**
+    * Provides the string id of this game object. The id is an optional alias of the handle:
+    * unless assigned via {@link #setId(String)}, a random id is generated on first access.
+    * Ids assigned from threads other than the update thread are indexed by the world on its
+    * next flush.
+    *
+    * @return the id of this game object
+    */
    public String getId() {
+      if (id == null) {
+         id = UUID.randomUUID().toString();
+         if (world != null) {
+            world.onIdChanged(this, null);
+         }
+      }
       return id;
    }
 
+   boolean hasId() {
+      return id != null;
+   }
+
    public void setId(String id) {
       if (id == null || id.trim().isEmpty()) {
          Gdx.app.log("ERROR", "Unable to assign id=" + id + " to game object " + toString() + ": invalid ID!");
          return;
       }
+      String previousId = this.id;
       this.id = id;
+      if (world != null) {
+         world.onIdChanged(this, previousId);
+      }
    }
 
+   /**
+    * Provides the color of this game object. Modifying the returned instance directly does not
+    * wake up a sleeping game object: use {@link #setColor(float, float, float, float)} instead.
+    *
+    * @return the color of this game object
+    */
    public Color getColor() {
       return color;
    }
@@ -208,57 +365,65 @@ public class GameObject implements Pool.Poolable {
    }
 
    public void setColor(float r, float g, float b, float a) {
-      color.set(r, g, b, a);
+      if (color.r != r || color.g != g || color.b != b || color.a != a) {
+         color.set(r, g, b, a);
+         markChanged();
+      }
    }
 
    public float getScaleX() {
-      return scale.x;
+      return get(TransformStorage.SCALE_X);
    }
 
    public float getScaleY() {
-      return scale.y;
+      return get(TransformStorage.SCALE_Y);
    }
 
    public void scale(float scale) {
-      this.scale.scl(scale);
+      set(TransformStorage.SCALE_X, getScaleX() * scale);
+      set(TransformStorage.SCALE_Y, getScaleY() * scale);
    }
 
    public void setScaleX(float scaleX) {
-      this.scale.x = scaleX;
+      set(TransformStorage.SCALE_X, scaleX);
    }
 
    public void setScaleY(float scaleY) {
-      this.scale.y = scaleY;
+      set(TransformStorage.SCALE_Y, scaleY);
    }
 
    public void setScale(float scale) {
-      this.scale.x = scale;
-      this.scale.y = scale;
+      set(TransformStorage.SCALE_X, scale);
+      set(TransformStorage.SCALE_Y, scale);
    }
 
    public float getOffsetX() {
-      return offset.x;
+      return get(TransformStorage.OFFSET_X);
    }
 
    public float getOffsetY() {
-      return offset.y;
+      return get(TransformStorage.OFFSET_Y);
    }
 
    public void setOffset(float x, float y) {
-      offset.x = x;
-      offset.y = y;
+      set(TransformStorage.OFFSET_X, x);
+      set(TransformStorage.OFFSET_Y, y);
    }
 
    public void setAttribute(Object key, Object attribute) {
       if (attribute == null) {
          removeAttribute(key);
       } else {
-         attributes.put(key, attribute);
+         if (attributes.put(key, attribute) != attribute) {
+            markChanged();
+         }
       }
    }
 
    public void removeAttribute(Object key) {
-      attributes.remove(key);
+      if (attributes.remove(key) != null) {
+         markChanged();
+      }
    }
 
    public boolean hasAttribute(Object key) {
@@ -278,12 +443,137 @@ public class GameObject implements Pool.Poolable {
       return defaultValue;
    }
 
+   public <T> void setAttribute(AttributeKey<T> key, T attribute) {
+      if (attribute == null) {
+         removeAttribute(key);
+         return;
+      }
+      if (key.index >= typedAttributes.length) {
+         typedAttributes = Arrays.copyOf(typedAttributes, newLength(typedAttributes.length, key.index));
+      }
+      if (typedAttributes[key.index] != attribute) {
+         typedAttributes[key.index] = attribute;
+         markChanged();
+      }
+   }
+
+   public void removeAttribute(AttributeKey<?> key) {
+      if (key.index < typedAttributes.length && typedAttributes[key.index] != null) {
+         typedAttributes[key.index] = null;
+         markChanged();
+      }
+   }
+
+   public boolean hasAttribute(AttributeKey<?> key) {
+      return key.index < typedAttributes.length && typedAttributes[key.index] != null;
+   }
+
+   @SuppressWarnings("unchecked")
+   public <T> T getAttribute(AttributeKey<T> key) {
+      return key.index < typedAttributes.length ? (T) typedAttributes[key.index] : null;
+   }
+
+   public <T> T getOrSetAttribute(AttributeKey<T> key, T defaultValue) {
+      T value = getAttribute(key);
+      if (value != null) {
+         return value;
+      }
+      setAttribute(key, defaultValue);
+      return defaultValue;
+   }
+
+   public void setAttribute(IntAttributeKey key, int attribute) {
+      if (key.index >= intAttributes.length) {
+         intAttributes = Arrays.copyOf(intAttributes, newLength(intAttributes.length, key.index));
+      }
+      if (!intAttributePresence.getAndSet(key.index) || intAttributes[key.index] != attribute) {
+         intAttributes[key.index] = attribute;
+         markChanged();
+      }
+   }
+
+   public void removeAttribute(IntAttributeKey key) {
+      if (intAttributePresence.getAndClear(key.index)) {
+         markChanged();
+      }
+   }
+
+   public boolean hasAttribute(IntAttributeKey key) {
+      return intAttributePresence.get(key.index);
+   }
+
+   /**
+    * @param key          the key of the attribute
+    * @param defaultValue the value to return if this game object does not have the attribute
+    * @return the value of the attribute or the default value
+    */
+   public int getAttribute(IntAttributeKey key, int defaultValue) {
+      return intAttributePresence.get(key.index) ? intAttributes[key.index] : defaultValue;
+   }
+
+   public int getOrSetAttribute(IntAttributeKey key, int defaultValue) {
+      if (intAttributePresence.get(key.index)) {
+         return intAttributes[key.index];
+      }
+      setAttribute(key, defaultValue);
+      return defaultValue;
+   }
+
+   public void setAttribute(FloatAttributeKey key, float attribute) {
+      if (storeAttribute(key, attribute)) {
+         markChanged();
+      }
+   }
+
+   /**
+    * Sets the attribute without marking this game object as changed, so a sleeping game object
+    * stays asleep. Intended for render-only state such as animation timers.
+    *
+    * @param key the attribute key
+    * @param attribute the attribute value
+    */
+   public void setTransientAttribute(FloatAttributeKey key, float attribute) {
+      storeAttribute(key, attribute);
+   }
+
+   public void removeAttribute(FloatAttributeKey key) {
+      if (floatAttributePresence.getAndClear(key.index)) {
+         markChanged();
+      }
+   }
+
+   public boolean hasAttribute(FloatAttributeKey key) {
+      return floatAttributePresence.get(key.index);
+   }
+
+   /**
+    * @param key          the key of the attribute
+    * @param defaultValue the value to return if this game object does not have the attribute
+    * @return the value of the attribute or the default value
+    */
+   public float getAttribute(FloatAttributeKey key, float defaultValue) {
+      return floatAttributePresence.get(key.index) ? floatAttributes[key.index] : defaultValue;
+   }
+
+   public float getOrSetAttribute(FloatAttributeKey key, float defaultValue) {
+      if (floatAttributePresence.get(key.index)) {
+         return floatAttributes[key.index];
+      }
+      setAttribute(key, defaultValue);
+      return defaultValue;
+   }
+
    public float getZIndex() {
-      return this.zIndex;
+      return get(TransformStorage.Z_INDEX);
    }
 
    public void setZIndex(float zIndex) {
-      this.zIndex = zIndex;
+      if (getZIndex() != zIndex) {
+         set(TransformStorage.Z_INDEX, zIndex);
+         if (world != null) {
+            world.onZIndexChanged(this);
+         }
+      }
    }
 
    public boolean isActive() {
@@ -291,7 +581,44 @@ public class GameObject implements Pool.Poolable {
    }
 
    public void setActive(boolean active) {
-      this.active = active;
+      if (this.active != active) {
+         this.active = active;
+         markChanged();
+      }
+   }
+
+   /**
+    * Puts this game object to sleep. Update listeners skip sleeping game objects until they get
+    * woken up, either explicitly, by any change of their state or by a moving neighbour.
+    * Sleeping game objects are still rendered.
+    */
+   public void sleep() {
+      sleeping = true;
+   }
+
+   public void wake() {
+      sleeping = false;
+      idleFrames = 0;
+   }
+
+   public boolean isSleeping() {
+      return sleeping;
+   }
+
+   /**
+    * @return true if this game object is outside of the {@link ActivityRegions} of its world
+    * and therefore not updated
+    */
+   public boolean isDormant() {
+      return dormant;
+   }
+
+   /**
+    * @return the time step this game object is simulated with in the current world update,
+    * negative if it is dormant and skipped in this update
+    */
+   public float getUpdateDelta() {
+      return updateDelta;
    }
 
    public boolean isPersistent() {
@@ -303,69 +630,287 @@ public class GameObject implements Pool.Poolable {
    }
 
    public float getRotation() {
-      return this.rotation;
+      return get(TransformStorage.ROTATION);
    }
 
    public void setRotation(float rotation) {
-      this.rotation = rotation;
+      set(TransformStorage.ROTATION, rotation);
    }
 
    public void rotate(float delta) {
-      this.rotation += delta;
+      set(TransformStorage.ROTATION, getRotation() + delta);
    }
 
    @Override
    public void reset() {
-      lastPosition.x = 0;
-      lastPosition.y = 0;
-      position.x = 0;
-      position.y = 0;
-      dimensions.x = 0;
-      dimensions.y = 0;
-      offset.x = 0;
-      offset.y = 0;
-      zIndex = 0;
-      id = UUID.randomUUID().toString();
-      scale.set(1f, 1f);
-      color = Color.WHITE.cpy();
+      transform.reset(transformIndex);
+      id = null;
+      color.set(Color.WHITE);
       attributes.clear();
+      Arrays.fill(typedAttributes, null);
+      intAttributePresence.clear();
+      floatAttributePresence.clear();
       active = true;
-      rotation = 0f;
-      origin.x = 0f;
-      origin.y = 0f;
       type = null;
+      typeMask = 0L;
+      categoryBits = 0L;
       persistent = false;
+      zIndexDirty = false;
+      sleeping = false;
+      idleFrames = 0;
+      dormant = false;
+      dormantDelta = 0f;
+      updateDelta = 0f;
+      changed = false;
+      interpolated = false;
    }
 
    @Override
-   public int hashCode() {
-      final int prime = 31;
-      int result = 1;
-      result = prime * result + ((id == null) ? 0 : id.hashCode());
-      return result;
+   public String toString() {
+      return "GameObject [position=(" + getLeft() + "," + getTop() + "), dimensions=(" + getWidth() + ","
+            + getHeight() + "), lastPosition=(" + getLastLeft() + "," + getLastTop() + "), handle=" + handle
+            + ", id=" + id + ", type=" + type + ", color=" + color + ", zIndex=" + getZIndex()
+            + ", active=" + active + "]";
    }
 
-   @Override
-   public boolean equals(Object obj) {
-      if (this == obj)
+   /**
+    * Moves the transform of this game object into the given storage.
+    */
+   void bindTransform(TransformStorage storage, int index) {
+      if (storage == transform && index == transformIndex) {
+         return;
+      }
+      transform.copy(transformIndex, storage, index);
+      storage.set(TransformStorage.Z_INDEX, index, getZIndex());
+      transform = storage;
+      transformIndex = index;
+   }
+
+   /**
+    * Moves the transform of this game object back into a storage of its own.
+    */
+   void unbindTransform() {
+      if (ownTransform == null) {
+         ownTransform = new TransformStorage(1);
+      }
+      bindTransform(ownTransform, 0);
+   }
+
+   /**
+    * Writes the state of this game object. Attributes with values which can not be written by
+    * {@link SnapshotOutput#writeValue(Object)} and typed attributes without a key name are skipped.
+    */
+   void write(SnapshotOutput out) throws IOException {
+      if (!SnapshotOutput.isSupported(type)) {
+         throw new GdxRuntimeException("Unable to write game object " + this + ": unsupported type " + type);
+      }
+      out.writeString(id);
+      out.writeValue(type);
+      out.writeBoolean(active);
+      out.writeBoolean(persistent);
+      out.writeBoolean(sleeping);
+      out.writeLong(categoryBits);
+      for (int field = 0; field < TransformStorage.FIELDS; ++field) {
+         out.writeFloat(get(field));
+      }
+      out.writeColor(color);
+      int count = 0;
+      for (int i = 0; i < typedAttributes.length; ++i) {
+         if (isWritable(AttributeKey.byIndex(i), typedAttributes[i])) {
+            count++;
+         }
+      }
+      out.writeInt(count);
+      for (int i = 0; i < typedAttributes.length; ++i) {
+         AttributeKey<?> key = AttributeKey.byIndex(i);
+         if (isWritable(key, typedAttributes[i])) {
+            out.writeString(key.getName());
+            out.writeValue(typedAttributes[i]);
+         }
+      }
+      count = 0;
+      for (int i = intAttributePresence.nextSetBit(0); i >= 0; i = intAttributePresence.nextSetBit(i + 1)) {
+         if (IntAttributeKey.byIndex(i).getName() != null) {
+            count++;
+         }
+      }
+      out.writeInt(count);
+      for (int i = intAttributePresence.nextSetBit(0); i >= 0; i = intAttributePresence.nextSetBit(i + 1)) {
+         IntAttributeKey key = IntAttributeKey.byIndex(i);
+         if (key.getName() != null) {
+            out.writeString(key.getName());
+            out.writeInt(intAttributes[i]);
+         }
+      }
+      count = 0;
+      for (int i = floatAttributePresence.nextSetBit(0); i >= 0; i = floatAttributePresence.nextSetBit(i + 1)) {
+         if (FloatAttributeKey.byIndex(i).getName() != null) {
+            count++;
+         }
+      }
+      out.writeInt(count);
+      for (int i = floatAttributePresence.nextSetBit(0); i >= 0; i = floatAttributePresence.nextSetBit(i + 1)) {
+         FloatAttributeKey key = FloatAttributeKey.byIndex(i);
+         if (key.getName() != null) {
+            out.writeString(key.getName());
+            out.writeFloat(floatAttributes[i]);
+         }
+      }
+      count = 0;
+      for (Map.Entry<Object, Object> entry : attributes.entrySet()) {
+         if (isWritable(entry.getKey(), entry.getValue())) {
+            count++;
+         }
+      }
+      out.writeInt(count);
+      for (Map.Entry<Object, Object> entry : attributes.entrySet()) {
+         if (isWritable(entry.getKey(), entry.getValue())) {
+            out.writeValue(entry.getKey());
+            out.writeValue(entry.getValue());
+         }
+      }
+   }
+
+   /**
+    * Reads the state of this game object which has been written by {@link #write(SnapshotOutput)}.
+    * Typed attributes of unknown keys are skipped.
+    */
+   @SuppressWarnings("unchecked")
+   void read(SnapshotInput in) throws IOException {
+      String id = in.readString();
+      if (id != null) {
+         setId(id);
+      }
+      setType(in.readValue());
+      setActive(in.readBoolean());
+      setPersistent(in.readBoolean());
+      boolean sleeping = in.readBoolean();
+      setCategoryBits(in.readLong());
+      float zIndex = 0f;
+      for (int field = 0; field < TransformStorage.FIELDS; ++field) {
+         float value = in.readFloat();
+         if (field == TransformStorage.Z_INDEX) {
+            zIndex = value;
+         } else {
+            transform.set(field, transformIndex, value);
+         }
+      }
+      setZIndex(zIndex);
+      in.readColor(color);
+      for (int count = in.readInt(); count > 0; --count) {
+         AttributeKey<Object> key = (AttributeKey<Object>) AttributeKey.byName(in.readString());
+         Object value = in.readValue();
+         if (key != null) {
+            setAttribute(key, value);
+         }
+      }
+      for (int count = in.readInt(); count > 0; --count) {
+         IntAttributeKey key = IntAttributeKey.byName(in.readString());
+         int value = in.readInt();
+         if (key != null) {
+            setAttribute(key, value);
+         }
+      }
+      for (int count = in.readInt(); count > 0; --count) {
+         FloatAttributeKey key = FloatAttributeKey.byName(in.readString());
+         float value = in.readFloat();
+         if (key != null) {
+            setAttribute(key, value);
+         }
+      }
+      for (int count = in.readInt(); count > 0; --count) {
+         Object key = in.readValue();
+         setAttribute(key, in.readValue());
+      }
+      if (sleeping) {
+         sleep();
+      }
+   }
+
+   private static boolean isWritable(AttributeKey<?> key, Object value) {
+      return value != null && key != null && key.getName() != null && SnapshotOutput.isSupported(value);
+   }
+
+   private static boolean isWritable(Object key, Object value) {
+      return key != null && SnapshotOutput.isSupported(key) && SnapshotOutput.isSupported(value);
+   }
+
+   private void copyTypedAttributes(GameObject source) {
+      for (int i = 0; i < source.typedAttributes.length; ++i) {
+         if (source.typedAttributes[i] != null) {
+            if (i >= typedAttributes.length) {
+               typedAttributes = Arrays.copyOf(typedAttributes, newLength(typedAttributes.length, i));
+            }
+            typedAttributes[i] = source.typedAttributes[i];
+         }
+      }
+      for (int i = source.intAttributePresence.nextSetBit(0); i >= 0; i = source.intAttributePresence.nextSetBit(i + 1)) {
+         if (i >= intAttributes.length) {
+            intAttributes = Arrays.copyOf(intAttributes, newLength(intAttributes.length, i));
+         }
+         intAttributes[i] = source.intAttributes[i];
+         intAttributePresence.set(i);
+      }
+      for (int i = source.floatAttributePresence.nextSetBit(0); i >= 0; i = source.floatAttributePresence.nextSetBit(i + 1)) {
+         if (i >= floatAttributes.length) {
+            floatAttributes = Arrays.copyOf(floatAttributes, newLength(floatAttributes.length, i));
+         }
+         floatAttributes[i] = source.floatAttributes[i];
+         floatAttributePresence.set(i);
+      }
+   }
+
+   private static int newLength(int length, int index) {
+      return Math.max(index + 1, Math.max(8, length * 2));
+   }
+
+   private float get(int field) {
+      return transform.get(field, transformIndex);
+   }
+
+   private float interpolate(int previousField, int field) {
+      final float current = get(field);
+      if (world == null || !interpolated || world.getInterpolationAlpha() >= 1f) {
+         return current;
+      }
+      final float previous = get(previousField);
+      return previous + (current - previous) * world.getInterpolationAlpha();
+   }
+
+   private void set(int field, float value) {
+      if (transform.get(field, transformIndex) != value) {
+         transform.set(field, transformIndex, value);
+         markChanged();
+      }
+   }
+
+   private boolean storeAttribute(FloatAttributeKey key, float attribute) {
+      if (key.index >= floatAttributes.length) {
+         floatAttributes = Arrays.copyOf(floatAttributes, newLength(floatAttributes.length, key.index));
+      }
+      if (!floatAttributePresence.getAndSet(key.index) || floatAttributes[key.index] != attribute) {
+         floatAttributes[key.index] = attribute;
          return true;
-      if (obj == null)
-         return false;
-      if (getClass() != obj.getClass())
-         return false;
-      GameObject other = (GameObject) obj;
-      if (id == null) {
-         if (other.id != null)
-            return false;
-      } else if (!id.equals(other.id))
-         return false;
-      return true;
+      }
+      return false;
    }
 
-   @Override
-   public String toString() {
-      return "GameObject [position=" + position + ", dimensions=" + dimensions + ", lastPosition=" + lastPosition
-            + ", id=" + id + ", type=" + type + ", color="
-            + color + ", zIndex=" + zIndex + ", active=" + active + "]";
+   private void markChanged() {
+      changed = true;
+      if (sleeping) {
+         wake();
+      }
+   }
+
+   static long toHandle(int slot, int generation) {
+      return ((long) generation << 32) | (slot & 0xFFFFFFFFL);
+   }
+
+   static int slotOf(long handle) {
+      return (int) handle;
+   }
+
+   static int generationOf(long handle) {
+      return (int) (handle >>> 32);
    }
 }
@@ -0,0 +1,164 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Pool of game objects used by the {@link GameWorld}. In contrast to a libgdx pool, it can be
+ * pre-warmed ahead of time, shrinks back to the demand observed since the last shrink and
+ * keeps statistics to tune its size.
+ * <p>
+ * The pool grows on demand: freed objects are retained up to {@link #getMaxFree()}, further
+ * objects are discarded. {@link #shrink()} releases free objects which have not been needed
+ * since the last shrink, but never shrinks below the pre-warmed size.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class GameObjectPool {
+
+   private final Array<GameObject> freeObjects;
+   private int maxFree;
+   private int minFree;
+   private int inUse;
+   private int peak;
+   private int recentPeak;
+   private long obtained;
+   private long misses;
+   private long frees;
+   private long discarded;
+
+   /**
+    * @param maxFree the maximum number of free objects to retain
+    */
+   public GameObjectPool(int maxFree) {
+      this.maxFree = Math.max(0, maxFree);
+      this.freeObjects = new Array<GameObject>(false, Math.min(this.maxFree, 16));
+   }
+
+   public GameObject obtain() {
+      obtained++;
+      inUse++;
+      peak = Math.max(peak, inUse);
+      recentPeak = Math.max(recentPeak, inUse);
+      if (freeObjects.size == 0) {
+         misses++;
+         return new GameObject();
+      }
+      return freeObjects.pop();
+   }
+
+   /**
+    * Resets the given game object and returns it to this pool.
+    */
+   public void free(GameObject object) {
+      frees++;
+      inUse = Math.max(0, inUse - 1);
+      object.reset();
+      if (freeObjects.size < maxFree) {
+         freeObjects.add(object);
+      } else {
+         discarded++;
+      }
+   }
+
+   /**
+    * Creates free objects ahead of time, so that the given number of objects can be obtained
+    * without allocations. The pool does not shrink below this size afterwards and grows its
+    * maximum if required.
+    *
+    * @param count the number of objects which should be available
+    */
+   public void prewarm(int count) {
+      minFree = Math.max(minFree, count);
+      maxFree = Math.max(maxFree, count);
+      if (count > freeObjects.size) {
+         freeObjects.ensureCapacity(count - freeObjects.size);
+      }
+      while (freeObjects.size < count) {
+         freeObjects.add(new GameObject());
+      }
+   }
+
+   /**
+    * Releases free objects which exceed the demand since the last shrink. At least the
+    * pre-warmed number of objects is retained.
+    */
+   public void shrink() {
+      int retain = Math.min(maxFree, Math.max(minFree, recentPeak - inUse));
+      if (freeObjects.size > retain) {
+         freeObjects.truncate(retain);
+         freeObjects.shrink();
+      }
+      recentPeak = inUse;
+   }
+
+   /**
+    * Releases all free objects and resets the pre-warmed size.
+    */
+   public void clear() {
+      freeObjects.clear();
+      minFree = 0;
+   }
+
+   public int getMaxFree() {
+      return maxFree;
+   }
+
+   public void setMaxFree(int maxFree) {
+      this.maxFree = Math.max(0, maxFree);
+      if (freeObjects.size > this.maxFree) {
+         freeObjects.truncate(this.maxFree);
+      }
+   }
+
+   /**
+    * @return the number of objects which can be obtained without allocations
+    */
+   public int getFreeCount() {
+      return freeObjects.size;
+   }
+
+   /**
+    * @return the number of obtained objects which have not been freed yet
+    */
+   public int getInUseCount() {
+      return inUse;
+   }
+
+   /**
+    * @return the highest number of objects in use at the same time
+    */
+   public int getPeak() {
+      return peak;
+   }
+
+   public long getObtainedCount() {
+      return obtained;
+   }
+
+   /**
+    * @return the number of obtained objects which had to be allocated
+    */
+   public long getMissCount() {
+      return misses;
+   }
+
+   public long getFreedCount() {
+      return frees;
+   }
+
+   /**
+    * @return the number of freed objects which have been dropped since the pool was full
+    */
+   public long getDiscardedCount() {
+      return discarded;
+   }
+
+   public void resetStatistics() {
+      peak = inUse;
+      obtained = 0;
+      misses = 0;
+      frees = 0;
+      discarded = 0;
+   }
+}
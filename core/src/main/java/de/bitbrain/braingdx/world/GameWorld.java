@@ -17,9 +17,12 @@ package de.bitbrain.braingdx.world;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import de.bitbrain.braingdx.util.CommandBuffer;
 import de.bitbrain.braingdx.util.Mutator;
-import de.bitbrain.braingdx.util.ZIndexComparator;
+import de.bitbrain.braingdx.util.Profiler;
+import de.bitbrain.braingdx.util.ReflectionUtils;
 
 import java.util.*;
 
@@ -36,12 +39,59 @@ public class GameWorld implements Iterable<GameObject> {
     * the default cache size this world uses
     */
    public static final int DEFAULT_CACHE_SIZE = 512;
+   private static final int COMMAND_ADD = 0;
+   private static final int COMMAND_REMOVE = 1;
+   private static final int COMMAND_SPAWN = 2;
+   private static final int COMMAND_INDEX_ID = 3;
    private final List<GameObject> objects = new ArrayList<GameObject>();
    private final Map<String, GameObject> identityMap = new HashMap<String, GameObject>();
+   private final Map<Object, Array<GameObject>> typeIndex = new HashMap<Object, Array<GameObject>>();
+   private final HandleRegistry handles = new HandleRegistry();
    private final List<GameObject> unmodifiableObjects;
-   private final Pool<GameObject> pool;
-   private final Comparator<GameObject> comparator = new ZIndexComparator();
+   private final GameObjectPool pool;
+   private final ZIndexOrder zIndexOrder = new ZIndexOrder();
    private final Set<GameWorldListener> listeners = new HashSet<GameWorldListener>();
+   private final Array<GameObject> candidates = new Array<GameObject>();
+   private final Array<GameObject> queryResult = new Array<GameObject>();
+   private final Array<GameWorldListener> pairListeners = new Array<GameWorldListener>();
+   private final CommandBuffer commands = new CommandBuffer();
+   private final CommandBuffer.Executor executor = new CommandBuffer.Executor() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public void execute(int opcode, long value, Object a, Object b) {
+         switch (opcode) {
+            case COMMAND_ADD:
+               GameObject object = (GameObject) a;
+               if (handles.get(object.getHandle()) == object) {
+                  attach(object);
+                  for (GameWorldListener l : listeners) {
+                     l.onAdd(object);
+                  }
+               }
+               break;
+            case COMMAND_REMOVE:
+               Gdx.app.debug("DEBUG", String.format("GameWorld - requested removal of game object %s", a));
+               removeInternally((GameObject) a, value);
+               break;
+            case COMMAND_SPAWN:
+               addObject((Mutator<GameObject>) a, false);
+               break;
+            case COMMAND_INDEX_ID:
+               if (handles.get(value) == a) {
+                  indexId((GameObject) a, (String) b);
+               }
+               break;
+         }
+      }
+   };
+   private final TransformStorageMode transformStorageMode;
+   private final TransformStorage transformStorage;
+   private BroadPhase broadPhase = new SpatialHashBroadPhase();
+   private int sleepThreshold;
+   private float interpolationAlpha = 1f;
+   private ActivityRegions activityRegions;
+   private int updateCount;
+   private Profiler profiler;
    private WorldBounds bounds = new WorldBounds() {
 
       @Override
@@ -77,14 +127,22 @@ public class GameWorld implements Iterable<GameObject> {
    }
 
    public GameWorld(OrthographicCamera camera, int cacheSize) {
+      this(camera, cacheSize, TransformStorageMode.PER_OBJECT);
+   }
+
+   /**
+    * @param camera               the camera of this world
+    * @param cacheSize            the maximum number of pooled game objects
+    * @param transformStorageMode defines where the transforms of game objects are stored
+    */
+   public GameWorld(OrthographicCamera camera, int cacheSize, TransformStorageMode transformStorageMode) {
       unmodifiableObjects = Collections.unmodifiableList(objects);
       this.camera = camera;
-      this.pool = new Pool<GameObject>(cacheSize) {
-         @Override
-         protected GameObject newObject() {
-            return new GameObject();
-         }
-      };
+      this.transformStorageMode = transformStorageMode;
+      this.transformStorage = transformStorageMode == TransformStorageMode.STRUCTURE_OF_ARRAYS
+            ? new TransformStorage(cacheSize)
+            : null;
+      this.pool = new GameObjectPool(cacheSize);
    }
 
    public void addListener(GameWorldListener listener) {
@@ -113,6 +171,132 @@ public class GameWorld implements Iterable<GameObject> {
       this.bounds = bounds;
    }
 
+   /**
+    * Provides the broad phase which determines pairwise updates.
+    *
+    * @return the currently active broad phase
+    */
+   public BroadPhase getBroadPhase() {
+      return broadPhase;
+   }
+
+   /**
+    * Sets the broad phase of this world. By default, a {@link SpatialHashBroadPhase} is used
+    * which only dispatches pairwise updates for objects which are close to each other.
+    * Use {@link AllPairsBroadPhase} to update every pair of active objects.
+    *
+    * @param broadPhase the new broad phase implementation
+    */
+   public void setBroadPhase(BroadPhase broadPhase) {
+      this.broadPhase.clear();
+      this.broadPhase = broadPhase;
+      for (GameObject object : objects) {
+         broadPhase.add(object);
+      }
+   }
+
+   /**
+    * Provides the buffer which defers structural changes of this world and its behaviors
+    * until the next {@link #flush()}.
+    *
+    * @return the command buffer of this world
+    */
+   public CommandBuffer getCommandBuffer() {
+      return commands;
+   }
+
+   /**
+    * Applies all pending structural changes, like lazy additions and removals of game objects.
+    * Called at the beginning of every frame and before every {@link #update(float)}.
+    */
+   public void flush() {
+      commands.flush();
+   }
+
+   public float getInterpolationAlpha() {
+      return interpolationAlpha;
+   }
+
+   /**
+    * Sets how far rendering is between the previous and the current update of this world.
+    * Transforms are interpolated accordingly within {@link #render(float)}: 0 renders the
+    * state of the previous update, 1 (default) renders the current state.
+    *
+    * @param alpha the interpolation alpha between 0 and 1
+    */
+   public void setInterpolationAlpha(float alpha) {
+      this.interpolationAlpha = Math.max(0f, Math.min(1f, alpha));
+   }
+
+   /**
+    * @return the number of world updates so far
+    */
+   public int getUpdateCount() {
+      return updateCount;
+   }
+
+   public int getSleepThreshold() {
+      return sleepThreshold;
+   }
+
+   /**
+    * Sets the number of consecutive frames without any change after which a game object
+    * is put to sleep automatically. A value of 0 (default) disables automatic sleeping.
+    *
+    * @param frames the number of idle frames until a game object falls asleep
+    */
+   public void setSleepThreshold(int frames) {
+      this.sleepThreshold = Math.max(0, frames);
+   }
+
+   public ActivityRegions getActivityRegions() {
+      return activityRegions;
+   }
+
+   /**
+    * Restricts updates to the regions around the camera and anchor objects. By default,
+    * all game objects are updated.
+    *
+    * @param activityRegions the activity regions or null to update all game objects
+    */
+   public void setActivityRegions(ActivityRegions activityRegions) {
+      this.activityRegions = activityRegions;
+      if (activityRegions == null) {
+         for (GameObject object : objects) {
+            object.dormant = false;
+            object.dormantDelta = 0f;
+         }
+      }
+   }
+
+   public Profiler getProfiler() {
+      return profiler;
+   }
+
+   /**
+    * Measures every listener update and render with the given profiler.
+    *
+    * @param profiler the profiler to record with or null to disable profiling
+    */
+   public void setProfiler(Profiler profiler) {
+      this.profiler = profiler;
+   }
+
+   public TransformStorageMode getTransformStorageMode() {
+      return transformStorageMode;
+   }
+
+   /**
+    * Provides the storage which holds the transforms of all game objects of this world.
+    * Game objects are located at {@link GameObject#getTransformIndex()}.
+    *
+    * @return the shared transform storage or null if this world is not in
+    * {@link TransformStorageMode#STRUCTURE_OF_ARRAYS} mode
+    */
+   public TransformStorage getTransformStorage() {
+      return transformStorage;
+   }
+
    /**
     * Adds a new game object to the game world and provides it.
     *
@@ -149,30 +333,20 @@ public class GameWorld implements Iterable<GameObject> {
     */
    public GameObject addObject(Mutator<GameObject> mutator, boolean lazy) {
       Gdx.app.debug("DEBUG", "GameWorld - obtaining new object...");
-      final GameObject object = pool.obtain();
-      if (identityMap.containsKey(object.getId())) {
-         Gdx.app.error("FATAL", String.format(
-               "GameWorld - game object %s already exists. Unable to add new object %s",
-               object,
-               identityMap.get(object.getId())
-               )
-         );
-         return object;
+      GameObject object = pool.obtain();
+      handles.register(object);
+      if (transformStorage != null) {
+         int slot = GameObject.slotOf(object.getHandle());
+         transformStorage.ensureCapacity(slot + 1);
+         object.bindTransform(transformStorage, slot);
       }
+      object.world = this;
       if (lazy) {
          Gdx.app.debug("DEBUG", String.format("GameWorld - requested addition for new game object %s", object));
-         Gdx.app.postRunnable(new Runnable() {
-            @Override
-            public void run() {
-               objects.add(object);
-               for (GameWorldListener l : listeners) {
-                  l.onAdd(object);
-               }
-            }
-         });
+         commands.enqueue(executor, COMMAND_ADD, 0L, object, null);
       } else {
          Gdx.app.debug("DEBUG", String.format("GameWorld - added new game object %s", object));
-         objects.add(object);
+         attach(object);
          for (GameWorldListener l : listeners) {
             l.onAdd(object);
          }
@@ -180,42 +354,294 @@ public class GameWorld implements Iterable<GameObject> {
       if (mutator != null) {
          mutator.mutate(object);
       }
-      identityMap.put(object.getId(), object);
       return object;
    }
 
    /**
-    * Updates and renders this world
+    * Adds a new game object to the game world on the next {@link #flush()}. In contrast to
+    * {@link #addObject(Mutator)}, this method can be called from any thread.
     *
-    * @param delta frame delta
+    * @param mutator the mutator which initializes the new game object
+    */
+   public void spawn(Mutator<GameObject> mutator) {
+      commands.enqueue(executor, COMMAND_SPAWN, 0L, mutator, null);
+   }
+
+   /**
+    * Updates this world
+    *
+    * @param delta the simulated time step
     */
    public void update(float delta) {
-      Collections.sort(objects, comparator);
+      flush();
+      zIndexOrder.restore(objects);
+      updateCount++;
+      if (activityRegions != null) {
+         activityRegions.begin(camera);
+      }
+      int sleepers = 0;
+      for (GameObject object : objects) {
+         broadPhase.update(object);
+         snapshot(object);
+         if (object.isSleeping()) {
+            sleepers++;
+            object.updateDelta = delta;
+         } else {
+            object.updateDelta = activityRegions != null ? activityDelta(object, delta) : delta;
+         }
+      }
+      for (GameWorldListener l : listeners) {
+         l.onBeforeUpdate(delta);
+      }
       for (GameObject object : objects) {
          if (!bounds.isInBounds(object) && !object.isPersistent()) {
             Gdx.app.debug("DEBUG", String.format("GameWorld - object %s is out of bounds! Remove...", object));
             remove(object);
             continue;
          }
+         if (object.isSleeping()) {
+            for (GameWorldListener l : listeners) {
+               if (l.isUpdatingSleepingObjects()) {
+                  l.onUpdate(object, delta);
+               }
+            }
+            continue;
+         }
+         float objectDelta = object.updateDelta;
+         if (objectDelta < 0f) {
+            continue;
+         }
          for (GameWorldListener l : listeners) {
-            l.onUpdate(object, delta);
+            if (profiler == null) {
+               l.onUpdate(object, objectDelta);
+            } else {
+               long start = System.nanoTime();
+               l.onUpdate(object, objectDelta);
+               profiler.record(l.getClass(), start);
+            }
          }
          if (object.isActive()) {
-            for (GameObject other : objects) {
-               if (other.isActive() && !object.getId().equals(other.getId())) {
-                  for (GameWorldListener l : listeners) {
-                     l.onUpdate(object, other, delta);
-                  }
+            broadPhase.update(object);
+            pairListeners.clear();
+            for (GameWorldListener l : listeners) {
+               if (l.isUpdatingPairs(object)) {
+                  pairListeners.add(l);
                }
             }
+            // candidates are only required to dispatch pairs or to wake up sleeping neighbours
+            if (pairListeners.size > 0 || (object.changed && sleepers > 0)) {
+               updatePairs(object, objectDelta);
+            }
          }
+         updateSleep(object);
       }
    }
 
+   /**
+    * Renders all game objects of this world in z-index order. Positions and rotations are
+    * interpolated between the previous and the current update by the interpolation alpha.
+    *
+    * @param delta frame delta
+    */
+   public void render(float delta) {
+      zIndexOrder.restore(objects);
+      final boolean interpolate = interpolationAlpha < 1f;
+      for (int i = 0; i < objects.size(); ++i) {
+         GameObject object = objects.get(i);
+         if (interpolate && object.interpolated) {
+            renderInterpolated(object, delta);
+         } else {
+            renderListeners(object, delta);
+         }
+      }
+   }
+
+   /**
+    * Provides the game object with the given string id.
+    *
+    * @param id the id of the game object
+    * @return the game object or null if no game object has this id
+    */
    public GameObject getObjectById(String id) {
       return identityMap.get(id);
    }
 
+   /**
+    * Provides the game object with the given handle.
+    *
+    * @param handle the handle of the game object
+    * @return the game object or null if the handle is not valid (anymore)
+    */
+   public GameObject getObjectByHandle(long handle) {
+      return handles.get(handle);
+   }
+
+   /**
+    * Visits all game objects of this world in z-index order without allocating an iterator.
+    *
+    * @param visitor the visitor
+    */
+   public void forEach(Visitor visitor) {
+      for (int i = 0; i < objects.size(); ++i) {
+         if (!visitor.visit(objects.get(i))) {
+            return;
+         }
+      }
+   }
+
+   /**
+    * Visits all game objects of the given type. Only game objects of that type are visited,
+    * so the costs do not depend on the total number of game objects.
+    *
+    * @param type    the type of the game objects
+    * @param visitor the visitor
+    */
+   public void forEach(Object type, Visitor visitor) {
+      Array<GameObject> bucket = typeIndex.get(type);
+      if (bucket != null) {
+         for (int i = 0; i < bucket.size; ++i) {
+            if (!visitor.visit(bucket.get(i))) {
+               return;
+            }
+         }
+      }
+   }
+
+   /**
+    * @param type the type of the game objects
+    * @return the number of game objects of the given type
+    */
+   public int count(Object type) {
+      Array<GameObject> bucket = typeIndex.get(type);
+      return bucket != null ? bucket.size : 0;
+   }
+
+   /**
+    * @param type the type of the game object
+    * @return any game object of the given type or null if there is none
+    */
+   public GameObject first(Object type) {
+      Array<GameObject> bucket = typeIndex.get(type);
+      return bucket != null && bucket.size > 0 ? bucket.first() : null;
+   }
+
+   /**
+    * Collects all game objects whose bounds overlap the given rectangle. Queries are answered
+    * by the {@link BroadPhase}, which reflects the positions of game objects as of their last
+    * update.
+    * <p>
+    * Spatial queries share scratch state with the broad phase and must only be issued from the
+    * thread which updates the world, never from isolated behaviors running on worker threads.
+    *
+    * @param x      the left border of the rectangle
+    * @param y      the top border of the rectangle
+    * @param width  the width of the rectangle
+    * @param height the height of the rectangle
+    * @param type   the type of the game objects or null for game objects of any type
+    * @param result the array to add the game objects to, it is not cleared beforehand
+    * @return the number of added game objects
+    */
+   public int query(float x, float y, float width, float height, Object type, Array<GameObject> result) {
+      queryResult.clear();
+      broadPhase.query(x, y, x + width, y + height, queryResult);
+      int count = 0;
+      for (int i = 0; i < queryResult.size; ++i) {
+         GameObject object = queryResult.get(i);
+         if (isOfType(object, type)) {
+            result.add(object);
+            count++;
+         }
+      }
+      queryResult.clear();
+      return count;
+   }
+
+   /**
+    * Collects all game objects whose bounds overlap the given circle. Like {@link #query}, it
+    * must only be called from the thread which updates the world.
+    *
+    * @param x      the horizontal center of the circle
+    * @param y      the vertical center of the circle
+    * @param radius the radius of the circle
+    * @param type   the type of the game objects or null for game objects of any type
+    * @param result the array to add the game objects to, it is not cleared beforehand
+    * @return the number of added game objects
+    */
+   public int queryRadius(float x, float y, float radius, Object type, Array<GameObject> result) {
+      queryResult.clear();
+      broadPhase.query(x - radius, y - radius, x + radius, y + radius, queryResult);
+      final float radiusSquared = radius * radius;
+      int count = 0;
+      for (int i = 0; i < queryResult.size; ++i) {
+         GameObject object = queryResult.get(i);
+         if (!isOfType(object, type)) {
+            continue;
+         }
+         float dx = x - Math.max(object.getLeft(), Math.min(x, object.getRight()));
+         float dy = y - Math.max(object.getTop(), Math.min(y, object.getBottom()));
+         if (dx * dx + dy * dy <= radiusSquared) {
+            result.add(object);
+            count++;
+         }
+      }
+      queryResult.clear();
+      return count;
+   }
+
+   /**
+    * Provides the first game object hit by the line segment from start to end. Like
+    * {@link #query}, it must only be called from the thread which updates the world.
+    *
+    * @param type the type of the game object or null for game objects of any type
+    * @param hit  receives the point where the game object has been hit, might be null
+    * @return the first game object hit or null if there is none
+    */
+   public GameObject raycast(float startX, float startY, float endX, float endY, Object type, Vector2 hit) {
+      final float dx = endX - startX;
+      final float dy = endY - startY;
+      final float length = (float) Math.sqrt(dx * dx + dy * dy);
+      // walk the ray in sections, so long rays do not query their whole bounding box at once
+      float sectionLength = broadPhase instanceof SpatialHashBroadPhase
+            ? ((SpatialHashBroadPhase) broadPhase).getCellSize()
+            : length;
+      int sections = length > 0f ? Math.max(1, (int) Math.ceil(length / sectionLength)) : 1;
+      for (int section = 0; section < sections; ++section) {
+         final float from = (float) section / sections;
+         final float to = (float) (section + 1) / sections;
+         final float x1 = startX + dx * from;
+         final float y1 = startY + dy * from;
+         final float x2 = startX + dx * to;
+         final float y2 = startY + dy * to;
+         queryResult.clear();
+         broadPhase.query(Math.min(x1, x2), Math.min(y1, y2), Math.max(x1, x2), Math.max(y1, y2), queryResult);
+         GameObject closest = null;
+         float closestTime = Float.MAX_VALUE;
+         for (int i = 0; i < queryResult.size; ++i) {
+            GameObject object = queryResult.get(i);
+            if (!isOfType(object, type)) {
+               continue;
+            }
+            float time = intersect(object, startX, startY, dx, dy);
+            if (time >= 0f && time <= to && time < closestTime) {
+               closest = object;
+               closestTime = time;
+            }
+         }
+         queryResult.clear();
+         if (closest != null) {
+            if (hit != null) {
+               hit.set(startX + dx * closestTime, startY + dy * closestTime);
+            }
+            return closest;
+         }
+      }
+      return null;
+   }
+
+   public GameObject raycast(float startX, float startY, float endX, float endY, Object type) {
+      return raycast(startX, startY, endX, endY, type, null);
+   }
+
    /**
     * Number of active objects in the world
     *
@@ -226,15 +652,42 @@ public class GameWorld implements Iterable<GameObject> {
    }
 
    /**
-    * Resets this world object
+    * Provides the pool which recycles removed game objects. Use it to pre-warm the world
+    * before adding many objects at once or to inspect its statistics.
+    *
+    * @return the game object pool of this world
+    */
+   public GameObjectPool getPool() {
+      return pool;
+   }
+
+   /**
+    * Resets this world object. Pending commands are flushed first, so lazily added game objects
+    * are cleared as well. Listeners are notified before all game objects are returned to the
+    * pool, which shrinks back to the demand since the last reset.
     */
    public void clear() {
-      pool.clear();
-      objects.clear();
-      identityMap.clear();
+      // attach pending additions first, so they get cleared as well
+      flush();
+      // listeners might still resolve the game objects which are about to be cleared
       for (GameWorldListener l : listeners) {
          l.onClear();
       }
+      for (GameObject object : objects) {
+         object.world = null;
+         object.attached = false;
+         if (transformStorage != null) {
+            object.unbindTransform();
+         }
+         pool.free(object);
+      }
+      pool.shrink();
+      zIndexOrder.clear();
+      objects.clear();
+      broadPhase.clear();
+      handles.clear();
+      identityMap.clear();
+      typeIndex.clear();
       Gdx.app.debug("DEBUG", "GameWorld - Cleared all game objects!");
    }
 
@@ -244,33 +697,260 @@ public class GameWorld implements Iterable<GameObject> {
    }
 
    /**
-    * Removes the given game objects from this world
+    * Removes the given game objects from this world on the next {@link #flush()}. Removals
+    * of game objects which have been removed in the meantime are ignored, even if their
+    * pooled instance has been reused already.
     *
     * @param objects
     */
-   public void remove(final GameObject... objects) {
-      Gdx.app.postRunnable(new Runnable() {
-         @Override
-         public void run() {
-            for (final GameObject object : objects) {
-               Gdx.app.debug("DEBUG", String.format("GameWorld - requested removal of game object %s", object));
-               removeInternally(object);
-            }
-         }
-      });
-
+   public void remove(GameObject... objects) {
+      for (GameObject object : objects) {
+         // the handle identifies the game object, its instance might get reused until the flush
+         commands.enqueue(executor, COMMAND_REMOVE, object.getHandle(), object, null);
+      }
    }
 
-   private void removeInternally(GameObject object) {
-      Gdx.app.debug("DEBUG", String.format("%s - GameWorld - removing game object %s", System.nanoTime(), object));
-      if (identityMap.remove(object.getId()) == null) {
-         Gdx.app.error("FATAL", String.format("%s - GameWorld - game object %s does not exist.", System.nanoTime(), object));
+   private void removeInternally(GameObject object, long handle) {
+      if (handle == 0L || handles.get(handle) != object) {
+         Gdx.app.debug("DEBUG", String.format("GameWorld - game object %s has already been removed", object));
+         return;
       }
+      Gdx.app.debug("DEBUG", String.format("%s - GameWorld - removing game object %s", System.nanoTime(), object));
       for (GameWorldListener l : listeners) {
          l.onRemove(object);
       }
+      broadPhase.remove(object);
+      zIndexOrder.remove(objects, object);
+      if (object.attached) {
+         object.attached = false;
+         removeFromTypeIndex(object, object.getType());
+      }
+      if (object.hasId() && identityMap.get(object.getId()) == object) {
+         identityMap.remove(object.getId());
+      }
+      handles.release(object);
+      object.world = null;
+      if (transformStorage != null) {
+         object.unbindTransform();
+      }
       pool.free(object);
-      objects.remove(object);
+   }
+
+   /**
+    * Removes all game objects immediately. In contrast to {@link #clear()}, removed objects
+    * are returned to the pool and listeners get notified about every single removal.
+    */
+   void removeAll() {
+      flush();
+      for (int i = objects.size() - 1; i >= 0; --i) {
+         GameObject object = objects.get(i);
+         removeInternally(object, object.getHandle());
+      }
+   }
+
+   void onIdChanged(GameObject object, String previousId) {
+      if (!commands.isOwnerThread()) {
+         // ids might be generated by isolated behaviors on worker threads
+         commands.enqueue(executor, COMMAND_INDEX_ID, object.getHandle(), object, previousId);
+         return;
+      }
+      indexId(object, previousId);
+   }
+
+   private void indexId(GameObject object, String previousId) {
+      if (previousId != null && identityMap.get(previousId) == object) {
+         identityMap.remove(previousId);
+      }
+      identityMap.put(object.getId(), object);
+   }
+
+   void onTypeChanged(GameObject object, Object previousType) {
+      if (object.attached) {
+         removeFromTypeIndex(object, previousType);
+         addToTypeIndex(object);
+      }
+   }
+
+   void onZIndexChanged(GameObject object) {
+      if (object.attached) {
+         zIndexOrder.invalidate(object);
+      }
+   }
+
+   private void snapshot(GameObject object) {
+      TransformStorage transform = object.getTransformStorage();
+      int index = object.getTransformIndex();
+      transform.set(TransformStorage.PREVIOUS_X, index, transform.get(TransformStorage.X, index));
+      transform.set(TransformStorage.PREVIOUS_Y, index, transform.get(TransformStorage.Y, index));
+      transform.set(TransformStorage.PREVIOUS_ROTATION, index, transform.get(TransformStorage.ROTATION, index));
+      object.interpolated = true;
+   }
+
+   private void renderInterpolated(GameObject object, float delta) {
+      // write the interpolated transform directly into the storage, so objects do not wake up
+      TransformStorage transform = object.getTransformStorage();
+      int index = object.getTransformIndex();
+      final float x = transform.get(TransformStorage.X, index);
+      final float y = transform.get(TransformStorage.Y, index);
+      final float rotation = transform.get(TransformStorage.ROTATION, index);
+      transform.set(TransformStorage.X, index, lerp(transform.get(TransformStorage.PREVIOUS_X, index), x));
+      transform.set(TransformStorage.Y, index, lerp(transform.get(TransformStorage.PREVIOUS_Y, index), y));
+      transform.set(TransformStorage.ROTATION, index, lerp(transform.get(TransformStorage.PREVIOUS_ROTATION, index), rotation));
+      renderListeners(object, delta);
+      transform.set(TransformStorage.X, index, x);
+      transform.set(TransformStorage.Y, index, y);
+      transform.set(TransformStorage.ROTATION, index, rotation);
+   }
+
+   private void renderListeners(GameObject object, float delta) {
+      for (GameWorldListener l : listeners) {
+         if (profiler == null) {
+            l.onRender(object, delta);
+         } else {
+            long start = System.nanoTime();
+            l.onRender(object, delta);
+            profiler.record(l.getClass(), Profiler.Phase.RENDER, start);
+         }
+      }
+   }
+
+   private float lerp(float previous, float current) {
+      return previous + (current - previous) * interpolationAlpha;
+   }
+
+   private void updatePairs(GameObject object, float delta) {
+      candidates.clear();
+      broadPhase.collectCandidates(object, candidates);
+      for (int i = 0; i < candidates.size; ++i) {
+         GameObject other = candidates.get(i);
+         if (object.changed && other.isSleeping()) {
+            other.wake();
+         }
+         if (other.isActive() && other != object) {
+            for (int j = 0; j < pairListeners.size; ++j) {
+               GameWorldListener l = pairListeners.get(j);
+               if (profiler == null) {
+                  l.onUpdate(object, other, delta);
+               } else {
+                  long start = System.nanoTime();
+                  l.onUpdate(object, other, delta);
+                  profiler.record(l.getClass(), Profiler.Phase.PAIRWISE_UPDATE, start);
+               }
+            }
+         }
+      }
+      candidates.clear();
+   }
+
+   /**
+    * @return the time step to update the given game object with or a negative value if the
+    * game object is dormant and should not be updated
+    */
+   private float activityDelta(GameObject object, float delta) {
+      if (activityRegions.isActive(object)) {
+         object.dormant = false;
+         delta += object.dormantDelta;
+         object.dormantDelta = 0f;
+         return delta;
+      }
+      object.dormant = true;
+      int interval = activityRegions.getDormantTickInterval();
+      if (interval == 0) {
+         return -1f;
+      }
+      object.dormantDelta += delta;
+      // stagger ticks of dormant objects across updates
+      if ((updateCount + GameObject.slotOf(object.getHandle())) % interval != 0) {
+         return -1f;
+      }
+      delta = object.dormantDelta;
+      object.dormantDelta = 0f;
+      return delta;
+   }
+
+   private static boolean isOfType(GameObject object, Object type) {
+      return type == null || type.equals(object.getType());
+   }
+
+   /**
+    * Intersects the ray with the bounds of the given game object.
+    *
+    * @return the time of the first intersection between 0 and 1 or -1 if there is none
+    */
+   private static float intersect(GameObject object, float x, float y, float dx, float dy) {
+      float enter = 0f;
+      float exit = 1f;
+      if (dx == 0f) {
+         if (x < object.getLeft() || x > object.getRight()) {
+            return -1f;
+         }
+      } else {
+         float t1 = (object.getLeft() - x) / dx;
+         float t2 = (object.getRight() - x) / dx;
+         enter = Math.max(enter, Math.min(t1, t2));
+         exit = Math.min(exit, Math.max(t1, t2));
+      }
+      if (dy == 0f) {
+         if (y < object.getTop() || y > object.getBottom()) {
+            return -1f;
+         }
+      } else {
+         float t1 = (object.getTop() - y) / dy;
+         float t2 = (object.getBottom() - y) / dy;
+         enter = Math.max(enter, Math.min(t1, t2));
+         exit = Math.min(exit, Math.max(t1, t2));
+      }
+      return enter <= exit ? enter : -1f;
+   }
+
+   private void updateSleep(GameObject object) {
+      if (object.changed) {
+         object.changed = false;
+         object.idleFrames = 0;
+      } else if (sleepThreshold > 0 && ++object.idleFrames >= sleepThreshold) {
+         object.sleep();
+      }
+   }
+
+   private void attach(GameObject object) {
+      zIndexOrder.add(objects, object);
+      broadPhase.add(object);
+      object.attached = true;
+      addToTypeIndex(object);
+   }
+
+   private void addToTypeIndex(GameObject object) {
+      Object type = object.getType();
+      if (type == null) {
+         return;
+      }
+      Array<GameObject> bucket = typeIndex.get(type);
+      if (bucket == null) {
+         bucket = new Array<GameObject>(false, 16);
+         typeIndex.put(type, bucket);
+      }
+      bucket.add(object);
+   }
+
+   private void removeFromTypeIndex(GameObject object, Object type) {
+      if (type == null) {
+         return;
+      }
+      Array<GameObject> bucket = typeIndex.get(type);
+      if (bucket != null) {
+         bucket.removeValue(object, true);
+      }
+   }
+
+   /**
+    * Visits game objects without allocating an iterator.
+    */
+   public interface Visitor {
+      /**
+       * @param object the visited game object
+       * @return true to continue visiting, false to stop
+       */
+      boolean visit(GameObject object);
    }
 
    /**
@@ -288,22 +968,73 @@ public class GameWorld implements Iterable<GameObject> {
       float getWorldOffsetY();
    }
 
+   /**
+    * Defines where the transforms of game objects are stored.
+    */
+   public enum TransformStorageMode {
+      /**
+       * every game object stores its transform on its own
+       */
+      PER_OBJECT,
+      /**
+       * the transforms of all game objects are stored within a single {@link TransformStorage}
+       * of the world, so systems can iterate over them sequentially
+       */
+      STRUCTURE_OF_ARRAYS
+   }
+
    /**
     * Listens to GameWorld events.
     */
    public static class GameWorldListener {
+
+      private final boolean updatingPairs = ReflectionUtils.overrides(getClass(), GameWorldListener.class,
+            "onUpdate", GameObject.class, GameObject.class, float.class);
+
       public void onAdd(GameObject object) {
       }
 
       public void onRemove(GameObject object) {
       }
 
+      /**
+       * Called once per update after the previous transforms of all game objects have been
+       * captured, before any game object is updated.
+       *
+       * @param delta the time step of the update
+       */
+      public void onBeforeUpdate(float delta) {
+      }
+
       public void onUpdate(GameObject object, float delta) {
       }
 
       public void onUpdate(GameObject object, GameObject other, float delta) {
       }
 
+      public void onRender(GameObject object, float delta) {
+      }
+
+      /**
+       * @return true if {@link #onUpdate(GameObject, float)} should also be called for sleeping game objects
+       */
+      public boolean isUpdatingSleepingObjects() {
+         return false;
+      }
+
+      /**
+       * Determines if {@link #onUpdate(GameObject, GameObject, float)} should be called for the
+       * given game object. Pairs of game objects are only collected if at least one listener
+       * consumes them. By default, this is the case if the listener overrides
+       * {@link #onUpdate(GameObject, GameObject, float)}.
+       *
+       * @param object the game object which is about to be paired with its neighbours
+       * @return true if this listener consumes pairwise updates of the given game object
+       */
+      public boolean isUpdatingPairs(GameObject object) {
+         return updatingPairs;
+      }
+
       public void onClear() {
       }
    }
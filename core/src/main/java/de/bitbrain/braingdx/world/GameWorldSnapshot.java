@@ -0,0 +1,119 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the state of a {@link GameWorld} into a compact binary format and restores it again,
+ * e.g. to save and load a game or to reset a level. A snapshot contains the transform, color,
+ * type, flags and attributes of every game object. Attribute values are restricted to the types
+ * supported by {@link SnapshotOutput#writeValue(Object)}, other values (e.g. behaviors) are skipped.
+ * Typed attributes are identified by the name of their key.
+ * <p>
+ * Restoring a snapshot removes all game objects of the world and adds the recorded ones, reusing
+ * pooled game objects. Handles are not preserved: the mapping from recorded to restored handles is
+ * provided by {@link #read(GameWorld, ReadableByteChannel)}. Additional state can be stored by
+ * {@link Extension}s.
+ * <p>
+ * Instances are reusable but not thread-safe.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class GameWorldSnapshot {
+
+   private static final int MAGIC = 0x42475753;
+   private static final int VERSION = 1;
+   private static final int BUFFER_SIZE = 8192;
+
+   /**
+    * Stores additional state within a snapshot.
+    */
+   public interface Extension {
+
+      void write(SnapshotOutput out) throws IOException;
+
+      /**
+       * @param in      the input to read from
+       * @param handles maps handles of the recorded game objects to the restored game objects
+       */
+      void read(SnapshotInput in, LongMap<GameObject> handles) throws IOException;
+   }
+
+   private final Array<Extension> extensions = new Array<Extension>();
+   private final LongMap<GameObject> handles = new LongMap<GameObject>();
+   private final SnapshotOutput output = new SnapshotOutput(BUFFER_SIZE);
+   private final SnapshotInput input = new SnapshotInput(BUFFER_SIZE);
+
+   public void addExtension(Extension extension) {
+      extensions.add(extension);
+   }
+
+   public void removeExtension(Extension extension) {
+      extensions.removeValue(extension, true);
+   }
+
+   /**
+    * Writes the given world into the channel. The channel is not closed afterwards.
+    */
+   public void write(GameWorld world, WritableByteChannel channel) throws IOException {
+      world.flush();
+      output.open(channel);
+      output.writeInt(MAGIC);
+      output.writeInt(VERSION);
+      output.writeInt(TransformStorage.FIELDS);
+      output.writeInt(world.size());
+      for (GameObject object : world) {
+         output.writeLong(object.getHandle());
+         object.write(output);
+      }
+      output.writeInt(extensions.size);
+      for (Extension extension : extensions) {
+         extension.write(output);
+      }
+      output.flush();
+   }
+
+   /**
+    * Replaces all game objects of the given world by the ones recorded within the channel.
+    * The channel is not closed afterwards.
+    *
+    * @return maps handles of the recorded game objects to the restored game objects. The map is
+    * reused by the next call.
+    */
+   public LongMap<GameObject> read(GameWorld world, ReadableByteChannel channel) throws IOException {
+      input.open(channel);
+      if (input.readInt() != MAGIC) {
+         throw new IOException("Unable to read snapshot: invalid format");
+      }
+      int version = input.readInt();
+      if (version != VERSION) {
+         throw new IOException("Unable to read snapshot: unsupported version " + version);
+      }
+      if (input.readInt() != TransformStorage.FIELDS) {
+         throw new IOException("Unable to read snapshot: incompatible transform");
+      }
+      handles.clear();
+      world.removeAll();
+      int size = input.readInt();
+      for (int i = 0; i < size; ++i) {
+         long handle = input.readLong();
+         GameObject object = world.addObject();
+         object.read(input);
+         handles.put(handle, object);
+      }
+      int extensionCount = input.readInt();
+      if (extensionCount != extensions.size) {
+         throw new IOException("Unable to read snapshot: expected " + extensions.size + " extensions but got "
+               + extensionCount);
+      }
+      for (Extension extension : extensions) {
+         extension.read(input, handles);
+      }
+      return handles;
+   }
+}
@@ -0,0 +1,73 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Assigns generational handles to game objects. A handle consists of a slot index (lower 32 bits)
+ * and the generation of that slot (upper 32 bits). Slots get reused once a game object has been
+ * released, while the generation makes sure that stale handles never resolve to the new occupant.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+class HandleRegistry {
+
+   private GameObject[] objects = new GameObject[64];
+   private int[] generations = new int[64];
+   private final IntArray freeSlots = new IntArray();
+   private int size;
+
+   long register(GameObject object) {
+      int slot;
+      if (freeSlots.size > 0) {
+         slot = freeSlots.pop();
+      } else {
+         slot = size++;
+         if (slot == objects.length) {
+            grow();
+         }
+      }
+      // generations start at 1 so a valid handle is never 0
+      if (generations[slot] == 0) {
+         generations[slot] = 1;
+      }
+      objects[slot] = object;
+      object.handle = GameObject.toHandle(slot, generations[slot]);
+      return object.handle;
+   }
+
+   void release(GameObject object) {
+      if (get(object.handle) != object) {
+         return;
+      }
+      int slot = GameObject.slotOf(object.handle);
+      objects[slot] = null;
+      generations[slot]++;
+      freeSlots.add(slot);
+   }
+
+   GameObject get(long handle) {
+      int slot = GameObject.slotOf(handle);
+      if (slot < 0 || slot >= size || generations[slot] != GameObject.generationOf(handle)) {
+         return null;
+      }
+      return objects[slot];
+   }
+
+   void clear() {
+      for (int slot = 0; slot < size; ++slot) {
+         if (objects[slot] != null) {
+            release(objects[slot]);
+         }
+      }
+   }
+
+   private void grow() {
+      GameObject[] newObjects = new GameObject[objects.length * 2];
+      System.arraycopy(objects, 0, newObjects, 0, objects.length);
+      objects = newObjects;
+      int[] newGenerations = new int[generations.length * 2];
+      System.arraycopy(generations, 0, newGenerations, 0, generations.length);
+      generations = newGenerations;
+   }
+}
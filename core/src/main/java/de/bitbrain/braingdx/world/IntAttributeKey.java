@@ -0,0 +1,28 @@
+package de.bitbrain.braingdx.world;
+
+/**
+ * Key of primitive <code>int</code> attributes of game objects. In contrast to {@link AttributeKey},
+ * values are stored without boxing. Every key gets a small index assigned on creation, which game
+ * objects use to look up the attribute within a compact array. Keys are never released, so they
+ * should be created once and kept as constants. The name identifies the key within a
+ * {@link GameWorldSnapshot}.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public final class IntAttributeKey extends AbstractAttributeKey {
+
+   private static final Registry<IntAttributeKey> REGISTRY = new Registry<IntAttributeKey>();
+
+   public IntAttributeKey(String name) {
+      super(name, REGISTRY);
+   }
+
+   static IntAttributeKey byIndex(int index) {
+      return REGISTRY.byIndex(index);
+   }
+
+   static IntAttributeKey byName(String name) {
+      return REGISTRY.byName(name);
+   }
+}
@@ -0,0 +1,156 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Buffered binary input of a {@link GameWorldSnapshot} which reads from a channel.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class SnapshotInput {
+
+   private final ByteBuffer buffer;
+   private ReadableByteChannel channel;
+   private byte[] bytes = new byte[64];
+
+   SnapshotInput(int bufferSize) {
+      buffer = ByteBuffer.allocate(bufferSize);
+   }
+
+   void open(ReadableByteChannel channel) {
+      this.channel = channel;
+      buffer.clear();
+      buffer.flip();
+   }
+
+   public byte readByte() throws IOException {
+      require(1);
+      return buffer.get();
+   }
+
+   public boolean readBoolean() throws IOException {
+      return readByte() != 0;
+   }
+
+   public int readInt() throws IOException {
+      require(4);
+      return buffer.getInt();
+   }
+
+   public long readLong() throws IOException {
+      require(8);
+      return buffer.getLong();
+   }
+
+   public float readFloat() throws IOException {
+      require(4);
+      return buffer.getFloat();
+   }
+
+   /**
+    * Reads a string which has been written via {@link SnapshotOutput#writeString(String)}.
+    */
+   public String readString() throws IOException {
+      int length = readInt();
+      if (length < 0) {
+         return null;
+      }
+      if (bytes.length < length) {
+         bytes = new byte[Math.max(length, bytes.length * 2)];
+      }
+      int offset = 0;
+      while (offset < length) {
+         if (!buffer.hasRemaining()) {
+            require(1);
+         }
+         int chunk = Math.min(buffer.remaining(), length - offset);
+         buffer.get(bytes, offset, chunk);
+         offset += chunk;
+      }
+      try {
+         return new String(bytes, 0, length, "UTF-8");
+      } catch (UnsupportedEncodingException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   /**
+    * Reads a value which has been written via {@link SnapshotOutput#writeValue(Object)}.
+    */
+   @SuppressWarnings({"unchecked", "rawtypes"})
+   public Object readValue() throws IOException {
+      byte tag = readByte();
+      switch (tag) {
+         case SnapshotOutput.TAG_NULL:
+            return null;
+         case SnapshotOutput.TAG_STRING:
+            return readString();
+         case SnapshotOutput.TAG_BOOLEAN:
+            return readBoolean();
+         case SnapshotOutput.TAG_INTEGER:
+            return readInt();
+         case SnapshotOutput.TAG_LONG:
+            return readLong();
+         case SnapshotOutput.TAG_FLOAT:
+            return readFloat();
+         case SnapshotOutput.TAG_DOUBLE:
+            return Double.longBitsToDouble(readLong());
+         case SnapshotOutput.TAG_ENUM:
+            Class enumType = forName(readString());
+            return Enum.valueOf(enumType, readString());
+         case SnapshotOutput.TAG_CLASS:
+            return forName(readString());
+         case SnapshotOutput.TAG_COLOR:
+            return readColor(new Color());
+         case SnapshotOutput.TAG_MAP_PROPERTIES:
+            MapProperties properties = new MapProperties();
+            int size = readInt();
+            for (int i = 0; i < size; ++i) {
+               String key = readString();
+               properties.put(key, readValue());
+            }
+            return properties;
+         default:
+            throw new IOException("Unable to read value: unknown tag " + tag);
+      }
+   }
+
+   Color readColor(Color target) throws IOException {
+      float r = readFloat();
+      float g = readFloat();
+      float b = readFloat();
+      float a = readFloat();
+      return target.set(r, g, b, a);
+   }
+
+   private void require(int bytes) throws IOException {
+      if (buffer.remaining() >= bytes) {
+         return;
+      }
+      buffer.compact();
+      while (buffer.position() < bytes) {
+         if (channel.read(buffer) < 0) {
+            throw new EOFException("Unexpected end of snapshot");
+         }
+      }
+      buffer.flip();
+   }
+
+   private static Class<?> forName(String name) throws IOException {
+      try {
+         return ClassReflection.forName(name);
+      } catch (ReflectionException e) {
+         throw new IOException("Unable to resolve class " + name, e);
+      }
+   }
+}
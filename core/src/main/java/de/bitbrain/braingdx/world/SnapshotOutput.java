@@ -0,0 +1,198 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.maps.MapProperties;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+
+/**
+ * Buffered binary output of a {@link GameWorldSnapshot} which writes into a channel.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class SnapshotOutput {
+
+   static final byte TAG_NULL = 0;
+   static final byte TAG_STRING = 1;
+   static final byte TAG_BOOLEAN = 2;
+   static final byte TAG_INTEGER = 3;
+   static final byte TAG_LONG = 4;
+   static final byte TAG_FLOAT = 5;
+   static final byte TAG_DOUBLE = 6;
+   static final byte TAG_ENUM = 7;
+   static final byte TAG_CLASS = 8;
+   static final byte TAG_COLOR = 9;
+   static final byte TAG_MAP_PROPERTIES = 10;
+
+   private final ByteBuffer buffer;
+   private WritableByteChannel channel;
+
+   SnapshotOutput(int bufferSize) {
+      buffer = ByteBuffer.allocate(bufferSize);
+   }
+
+   void open(WritableByteChannel channel) {
+      this.channel = channel;
+      buffer.clear();
+   }
+
+   public void writeByte(byte value) throws IOException {
+      ensure(1);
+      buffer.put(value);
+   }
+
+   public void writeBoolean(boolean value) throws IOException {
+      writeByte(value ? (byte) 1 : (byte) 0);
+   }
+
+   public void writeInt(int value) throws IOException {
+      ensure(4);
+      buffer.putInt(value);
+   }
+
+   public void writeLong(long value) throws IOException {
+      ensure(8);
+      buffer.putLong(value);
+   }
+
+   public void writeFloat(float value) throws IOException {
+      ensure(4);
+      buffer.putFloat(value);
+   }
+
+   /**
+    * Writes the given string, which might be null.
+    */
+   public void writeString(String value) throws IOException {
+      if (value == null) {
+         writeInt(-1);
+         return;
+      }
+      byte[] bytes = toUtf8(value);
+      writeInt(bytes.length);
+      int offset = 0;
+      while (offset < bytes.length) {
+         if (!buffer.hasRemaining()) {
+            flush();
+         }
+         int length = Math.min(buffer.remaining(), bytes.length - offset);
+         buffer.put(bytes, offset, length);
+         offset += length;
+      }
+   }
+
+   /**
+    * @param value the value to check
+    * @return true if the given value can be written via {@link #writeValue(Object)}
+    */
+   public static boolean isSupported(Object value) {
+      if (value == null || value instanceof String || value instanceof Boolean || value instanceof Integer
+            || value instanceof Long || value instanceof Float || value instanceof Double
+            || value instanceof Enum || value instanceof Class || value instanceof Color) {
+         return true;
+      }
+      if (value instanceof MapProperties) {
+         Iterator<String> keys = ((MapProperties) value).getKeys();
+         while (keys.hasNext()) {
+            Object property = ((MapProperties) value).get(keys.next());
+            if (property instanceof MapProperties || !isSupported(property)) {
+               return false;
+            }
+         }
+         return true;
+      }
+      return false;
+   }
+
+   /**
+    * Writes the given value including its type. Supported are null, strings, boxed primitives,
+    * enums, classes, colors and map properties of such values.
+    *
+    * @throws IllegalArgumentException if the value is not supported
+    */
+   public void writeValue(Object value) throws IOException {
+      if (value == null) {
+         writeByte(TAG_NULL);
+      } else if (value instanceof String) {
+         writeByte(TAG_STRING);
+         writeString((String) value);
+      } else if (value instanceof Boolean) {
+         writeByte(TAG_BOOLEAN);
+         writeBoolean((Boolean) value);
+      } else if (value instanceof Integer) {
+         writeByte(TAG_INTEGER);
+         writeInt((Integer) value);
+      } else if (value instanceof Long) {
+         writeByte(TAG_LONG);
+         writeLong((Long) value);
+      } else if (value instanceof Float) {
+         writeByte(TAG_FLOAT);
+         writeFloat((Float) value);
+      } else if (value instanceof Double) {
+         writeByte(TAG_DOUBLE);
+         writeLong(Double.doubleToLongBits((Double) value));
+      } else if (value instanceof Enum) {
+         writeByte(TAG_ENUM);
+         writeString(((Enum<?>) value).getDeclaringClass().getName());
+         writeString(((Enum<?>) value).name());
+      } else if (value instanceof Class) {
+         writeByte(TAG_CLASS);
+         writeString(((Class<?>) value).getName());
+      } else if (value instanceof Color) {
+         writeByte(TAG_COLOR);
+         writeColor((Color) value);
+      } else if (value instanceof MapProperties && isSupported(value)) {
+         MapProperties properties = (MapProperties) value;
+         writeByte(TAG_MAP_PROPERTIES);
+         int size = 0;
+         Iterator<String> keys = properties.getKeys();
+         while (keys.hasNext()) {
+            keys.next();
+            size++;
+         }
+         writeInt(size);
+         keys = properties.getKeys();
+         while (keys.hasNext()) {
+            String key = keys.next();
+            writeString(key);
+            writeValue(properties.get(key));
+         }
+      } else {
+         throw new IllegalArgumentException("Unable to write value " + value + ": unsupported type " + value.getClass());
+      }
+   }
+
+   void writeColor(Color color) throws IOException {
+      writeFloat(color.r);
+      writeFloat(color.g);
+      writeFloat(color.b);
+      writeFloat(color.a);
+   }
+
+   void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+         channel.write(buffer);
+      }
+      buffer.clear();
+   }
+
+   private void ensure(int bytes) throws IOException {
+      if (buffer.remaining() < bytes) {
+         flush();
+      }
+   }
+
+   private static byte[] toUtf8(String value) {
+      try {
+         return value.getBytes("UTF-8");
+      } catch (UnsupportedEncodingException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+}
@@ -0,0 +1,206 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Broad phase which hashes game objects into a uniform grid based on their bounds.
+ * Only objects whose bounds are within the configured interaction radius of each other
+ * are considered to be candidates. Grid cells are updated incrementally: an object
+ * is only rehashed when it moved into a different set of cells.
+ * <p>
+ * Queries deduplicate game objects via a shared stamp and are therefore not thread-safe.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class SpatialHashBroadPhase implements BroadPhase {
+
+   /**
+    * the default size of a single grid cell in world units
+    */
+   public static final float DEFAULT_CELL_SIZE = 64f;
+
+   private final LongMap<Array<GameObject>> cells = new LongMap<Array<GameObject>>();
+   private final IdentityMap<GameObject, Entry> entries = new IdentityMap<GameObject, Entry>();
+   private final Pool<Array<GameObject>> bucketPool = new Pool<Array<GameObject>>() {
+      @Override
+      protected Array<GameObject> newObject() {
+         return new Array<GameObject>(false, 8);
+      }
+   };
+   private final Pool<Entry> entryPool = new Pool<Entry>() {
+      @Override
+      protected Entry newObject() {
+         return new Entry();
+      }
+   };
+   private final float cellSize;
+   private final float interactionRadius;
+   private int stamp;
+
+   public SpatialHashBroadPhase() {
+      this(DEFAULT_CELL_SIZE, 0f);
+   }
+
+   /**
+    * @param cellSize          the size of a single grid cell in world units
+    * @param interactionRadius the maximum distance between the bounds of two objects to be considered a pair
+    */
+   public SpatialHashBroadPhase(float cellSize, float interactionRadius) {
+      if (cellSize <= 0f) {
+         throw new IllegalArgumentException("Cell size must be larger than 0");
+      }
+      this.cellSize = cellSize;
+      this.interactionRadius = Math.max(0f, interactionRadius);
+   }
+
+   public float getCellSize() {
+      return cellSize;
+   }
+
+   public float getInteractionRadius() {
+      return interactionRadius;
+   }
+
+   @Override
+   public void add(GameObject object) {
+      if (entries.containsKey(object)) {
+         return;
+      }
+      Entry entry = entryPool.obtain();
+      entry.minX = cellIndex(object.getLeft());
+      entry.minY = cellIndex(object.getTop());
+      entry.maxX = cellIndex(object.getRight());
+      entry.maxY = cellIndex(object.getBottom());
+      entries.put(object, entry);
+      insert(object, entry);
+   }
+
+   @Override
+   public void remove(GameObject object) {
+      Entry entry = entries.remove(object);
+      if (entry != null) {
+         erase(object, entry);
+         entryPool.free(entry);
+      }
+   }
+
+   @Override
+   public void update(GameObject object) {
+      Entry entry = entries.get(object);
+      if (entry == null) {
+         return;
+      }
+      int minX = cellIndex(object.getLeft());
+      int minY = cellIndex(object.getTop());
+      int maxX = cellIndex(object.getRight());
+      int maxY = cellIndex(object.getBottom());
+      if (minX == entry.minX && minY == entry.minY && maxX == entry.maxX && maxY == entry.maxY) {
+         return;
+      }
+      erase(object, entry);
+      entry.minX = minX;
+      entry.minY = minY;
+      entry.maxX = maxX;
+      entry.maxY = maxY;
+      insert(object, entry);
+   }
+
+   @Override
+   public void clear() {
+      for (Array<GameObject> bucket : cells.values()) {
+         bucket.clear();
+         bucketPool.free(bucket);
+      }
+      cells.clear();
+      for (Entry entry : entries.values()) {
+         entryPool.free(entry);
+      }
+      entries.clear();
+   }
+
+   @Override
+   public void collectCandidates(GameObject source, Array<GameObject> result) {
+      collect(source.getLeft() - interactionRadius, source.getTop() - interactionRadius,
+            source.getRight() + interactionRadius, source.getBottom() + interactionRadius, source, result);
+   }
+
+   @Override
+   public void query(float left, float top, float right, float bottom, Array<GameObject> result) {
+      collect(left, top, right, bottom, null, result);
+   }
+
+   private void collect(float left, float top, float right, float bottom, GameObject source,
+                        Array<GameObject> result) {
+      stamp++;
+      final int maxX = cellIndex(right);
+      final int maxY = cellIndex(bottom);
+      for (int x = cellIndex(left); x <= maxX; ++x) {
+         for (int y = cellIndex(top); y <= maxY; ++y) {
+            Array<GameObject> bucket = cells.get(key(x, y));
+            if (bucket == null) {
+               continue;
+            }
+            for (int i = 0; i < bucket.size; ++i) {
+               GameObject candidate = bucket.get(i);
+               if (candidate == source) {
+                  continue;
+               }
+               Entry entry = entries.get(candidate);
+               if (entry.stamp == stamp) {
+                  // already visited through another cell
+                  continue;
+               }
+               entry.stamp = stamp;
+               if (candidate.getLeft() <= right && candidate.getRight() >= left
+                     && candidate.getTop() <= bottom && candidate.getBottom() >= top) {
+                  result.add(candidate);
+               }
+            }
+         }
+      }
+   }
+
+   private void insert(GameObject object, Entry entry) {
+      for (int x = entry.minX; x <= entry.maxX; ++x) {
+         for (int y = entry.minY; y <= entry.maxY; ++y) {
+            long key = key(x, y);
+            Array<GameObject> bucket = cells.get(key);
+            if (bucket == null) {
+               bucket = bucketPool.obtain();
+               cells.put(key, bucket);
+            }
+            bucket.add(object);
+         }
+      }
+   }
+
+   private void erase(GameObject object, Entry entry) {
+      for (int x = entry.minX; x <= entry.maxX; ++x) {
+         for (int y = entry.minY; y <= entry.maxY; ++y) {
+            long key = key(x, y);
+            Array<GameObject> bucket = cells.get(key);
+            if (bucket != null && bucket.removeValue(object, true) && bucket.size == 0) {
+               cells.remove(key);
+               bucketPool.free(bucket);
+            }
+         }
+      }
+   }
+
+   private int cellIndex(float value) {
+      return (int) Math.floor(value / cellSize);
+   }
+
+   private static long key(int x, int y) {
+      return ((long) x << 32) | (y & 0xFFFFFFFFL);
+   }
+
+   private static class Entry {
+      int minX, minY, maxX, maxY;
+      int stamp;
+   }
+}
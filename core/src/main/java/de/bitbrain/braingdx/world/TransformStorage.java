@@ -0,0 +1,115 @@
+package de.bitbrain.braingdx.world;
+
+/**
+ * Stores the transform data of game objects as a structure of arrays: all values of a single
+ * field are laid out contiguously within one float array, followed by the values of the next field.
+ * The value of a field for the game object at a given index is located at
+ * <code>getData()[offset(field) + index]</code>.
+ * <p>
+ * Game objects which do not belong to a {@link GameWorld} in
+ * {@link GameWorld.TransformStorageMode#STRUCTURE_OF_ARRAYS} mode use their own storage of capacity 1.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public class TransformStorage {
+
+   public static final int X = 0;
+   public static final int Y = 1;
+   public static final int LAST_X = 2;
+   public static final int LAST_Y = 3;
+   public static final int WIDTH = 4;
+   public static final int HEIGHT = 5;
+   public static final int OFFSET_X = 6;
+   public static final int OFFSET_Y = 7;
+   public static final int SCALE_X = 8;
+   public static final int SCALE_Y = 9;
+   public static final int ORIGIN_X = 10;
+   public static final int ORIGIN_Y = 11;
+   public static final int ROTATION = 12;
+   public static final int Z_INDEX = 13;
+   public static final int PREVIOUS_X = 14;
+   public static final int PREVIOUS_Y = 15;
+   public static final int PREVIOUS_ROTATION = 16;
+
+   static final int FIELDS = 17;
+
+   private float[] data;
+   private int capacity;
+
+   public TransformStorage(int capacity) {
+      this.capacity = Math.max(1, capacity);
+      this.data = new float[FIELDS * this.capacity];
+      for (int index = 0; index < this.capacity; ++index) {
+         reset(index);
+      }
+   }
+
+   /**
+    * Provides the underlying data. The array gets replaced whenever this storage grows.
+    *
+    * @return the current data of this storage
+    */
+   public float[] getData() {
+      return data;
+   }
+
+   public int getCapacity() {
+      return capacity;
+   }
+
+   /**
+    * Provides the position of the first value of the given field within {@link #getData()}.
+    *
+    * @param field the field, e.g. {@link #X}
+    * @return the offset of the field
+    */
+   public int offset(int field) {
+      return field * capacity;
+   }
+
+   public float get(int field, int index) {
+      return data[field * capacity + index];
+   }
+
+   public void set(int field, int index, float value) {
+      data[field * capacity + index] = value;
+   }
+
+   void ensureCapacity(int requiredCapacity) {
+      if (requiredCapacity <= capacity) {
+         return;
+      }
+      int newCapacity = Math.max(requiredCapacity, capacity * 2);
+      float[] newData = new float[FIELDS * newCapacity];
+      for (int field = 0; field < FIELDS; ++field) {
+         System.arraycopy(data, field * capacity, newData, field * newCapacity, capacity);
+      }
+      int previousCapacity = capacity;
+      data = newData;
+      capacity = newCapacity;
+      for (int index = previousCapacity; index < newCapacity; ++index) {
+         reset(index);
+      }
+   }
+
+   void reset(int index) {
+      for (int field = 0; field < FIELDS; ++field) {
+         data[field * capacity + index] = 0f;
+      }
+      data[SCALE_X * capacity + index] = 1f;
+      data[SCALE_Y * capacity + index] = 1f;
+   }
+
+   /**
+    * Copies all values of the given index into the target storage. The z-index is not copied,
+    * since changes of the z-index need to go through {@link GameObject#setZIndex(float)}.
+    */
+   void copy(int index, TransformStorage target, int targetIndex) {
+      for (int field = 0; field < FIELDS; ++field) {
+         if (field != Z_INDEX) {
+            target.data[field * target.capacity + targetIndex] = data[field * capacity + index];
+         }
+      }
+   }
+}
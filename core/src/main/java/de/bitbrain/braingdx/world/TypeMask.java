@@ -0,0 +1,55 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Assigns a bit to every game object type, so sets of types can be matched by a single bitwise
+ * and instead of comparing type objects. The first 63 distinct types get a bit of their own,
+ * all further types share the highest bit: masks never miss a type, but might match types
+ * which share that bit.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+public final class TypeMask {
+
+   /**
+    * matches every type
+    */
+   public static final long ALL = -1L;
+
+   private static final int SHARED_BIT = 63;
+
+   private static final ObjectMap<Object, Long> bits = new ObjectMap<Object, Long>();
+
+   private TypeMask() {
+   }
+
+   /**
+    * @param type the game object type, might be null
+    * @return the mask of the given type, 0 for null
+    */
+   public static synchronized long of(Object type) {
+      if (type == null) {
+         return 0L;
+      }
+      Long mask = bits.get(type);
+      if (mask == null) {
+         mask = 1L << Math.min(bits.size, SHARED_BIT);
+         bits.put(type, mask);
+      }
+      return mask;
+   }
+
+   /**
+    * @param types the game object types
+    * @return the combined mask of all given types
+    */
+   public static long of(Object... types) {
+      long mask = 0L;
+      for (Object type : types) {
+         mask |= of(type);
+      }
+      return mask;
+   }
+}
@@ -0,0 +1,180 @@
+package de.bitbrain.braingdx.world;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Sort;
+import de.bitbrain.braingdx.util.ZIndexComparator;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps a list of game objects ordered by their z-index. Instead of sorting the entire list
+ * every frame, only objects which have been invalidated since the last restore are repositioned.
+ * <p>
+ * Every object remembers the z-index it has been ordered by, so the list is always sorted by
+ * those values. Few invalidated objects are removed and re-inserted via binary search. When many
+ * objects have been invalidated at once, they get extracted, sorted and merged back instead.
+ *
+ * @author Miguel Gonzalez Sanchez
+ * @since 0.6.0
+ */
+class ZIndexOrder {
+
+   /**
+    * the maximum number of invalidated objects which get re-inserted one by one
+    */
+   static final int INCREMENTAL_LIMIT = 32;
+
+   private final Comparator<GameObject> comparator = new ZIndexComparator();
+   private final Array<GameObject> dirty = new Array<GameObject>();
+
+   /**
+    * Inserts a new object at its z-index position.
+    */
+   void add(List<GameObject> objects, GameObject object) {
+      object.orderedZIndex = object.getZIndex();
+      objects.add(upperBound(objects, object.orderedZIndex), object);
+   }
+
+   /**
+    * Removes the given object from the list.
+    */
+   void remove(List<GameObject> objects, GameObject object) {
+      int index = indexOf(objects, object);
+      if (index >= 0) {
+         objects.remove(index);
+      }
+      if (object.zIndexDirty) {
+         object.zIndexDirty = false;
+         dirty.removeValue(object, true);
+      }
+   }
+
+   /**
+    * Marks the given object to be repositioned on the next restore.
+    */
+   void invalidate(GameObject object) {
+      if (!object.zIndexDirty) {
+         object.zIndexDirty = true;
+         dirty.add(object);
+      }
+   }
+
+   /**
+    * Repositions all invalidated objects within the given list.
+    */
+   void restore(List<GameObject> objects) {
+      for (int i = dirty.size - 1; i >= 0; --i) {
+         GameObject object = dirty.get(i);
+         if (!object.attached) {
+            // pending objects are inserted once they get attached
+            object.zIndexDirty = false;
+            dirty.removeIndex(i);
+         }
+      }
+      if (dirty.size == 0) {
+         return;
+      }
+      if (dirty.size <= INCREMENTAL_LIMIT) {
+         reinsert(objects);
+      } else {
+         merge(objects);
+      }
+      dirty.clear();
+   }
+
+   void clear() {
+      for (GameObject object : dirty) {
+         object.zIndexDirty = false;
+      }
+      dirty.clear();
+   }
+
+   private void reinsert(List<GameObject> objects) {
+      for (int i = 0; i < dirty.size; ++i) {
+         GameObject object = dirty.get(i);
+         int index = indexOf(objects, object);
+         if (index >= 0) {
+            objects.remove(index);
+         } else {
+            object.zIndexDirty = false;
+            dirty.removeIndex(i--);
+         }
+      }
+      for (int i = 0; i < dirty.size; ++i) {
+         GameObject object = dirty.get(i);
+         object.zIndexDirty = false;
+         add(objects, object);
+      }
+   }
+
+   private void merge(List<GameObject> objects) {
+      final int size = objects.size();
+      int clean = 0;
+      for (int i = 0; i < size; ++i) {
+         GameObject object = objects.get(i);
+         if (!object.zIndexDirty) {
+            if (clean != i) {
+               objects.set(clean, object);
+            }
+            clean++;
+         }
+      }
+      for (int i = 0; i < dirty.size; ++i) {
+         GameObject object = dirty.get(i);
+         object.zIndexDirty = false;
+         object.orderedZIndex = object.getZIndex();
+      }
+      Sort.instance().sort(dirty, comparator);
+      // merge from the back so no element gets overwritten before it has been moved
+      int cleanIndex = clean - 1;
+      int dirtyIndex = dirty.size - 1;
+      for (int target = size - 1; dirtyIndex >= 0; --target) {
+         if (cleanIndex >= 0 && comparator.compare(objects.get(cleanIndex), dirty.get(dirtyIndex)) > 0) {
+            objects.set(target, objects.get(cleanIndex--));
+         } else {
+            objects.set(target, dirty.get(dirtyIndex--));
+         }
+      }
+   }
+
+   private int indexOf(List<GameObject> objects, GameObject object) {
+      final int size = objects.size();
+      for (int i = lowerBound(objects, object.orderedZIndex); i < size; ++i) {
+         GameObject candidate = objects.get(i);
+         if (candidate == object) {
+            return i;
+         }
+         if (candidate.orderedZIndex != object.orderedZIndex) {
+            break;
+         }
+      }
+      return -1;
+   }
+
+   private static int lowerBound(List<GameObject> objects, float zIndex) {
+      int low = 0, high = objects.size();
+      while (low < high) {
+         int mid = (low + high) >>> 1;
+         if (objects.get(mid).orderedZIndex < zIndex) {
+            low = mid + 1;
+         } else {
+            high = mid;
+         }
+      }
+      return low;
+   }
+
+   private static int upperBound(List<GameObject> objects, float zIndex) {
+      int low = 0, high = objects.size();
+      while (low < high) {
+         int mid = (low + high) >>> 1;
+         if (objects.get(mid).orderedZIndex <= zIndex) {
+            low = mid + 1;
+         } else {
+            high = mid;
+         }
+      }
+      return low;
+   }
+}
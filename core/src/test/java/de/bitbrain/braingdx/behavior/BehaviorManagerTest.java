@@ -1,16 +1,26 @@
 package de.bitbrain.braingdx.behavior;
 
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Vector2;
+import de.bitbrain.braingdx.behavior.movement.VelocityMovementBehavior;
 import de.bitbrain.braingdx.util.GdxUtils;
+import de.bitbrain.braingdx.util.Profiler;
+import de.bitbrain.braingdx.util.TimingHistogram;
 import de.bitbrain.braingdx.util.Updateable;
+import de.bitbrain.braingdx.world.ActivityRegions;
 import de.bitbrain.braingdx.world.GameObject;
 import de.bitbrain.braingdx.world.GameWorld;
+import de.bitbrain.braingdx.world.TransformStorage;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -40,9 +50,11 @@ public class BehaviorManagerTest {
       UpdateableBehavior mockBehavior = Mockito.mock(UpdateableBehavior.class);
       GameObject mockObject = world.addObject();
       manager.apply(mockBehavior, mockObject);
+      world.flush();
       manager.update(1f);
       Mockito.inOrder(mockBehavior).verify(mockBehavior, Mockito.calls(1)).update(1f);
       world.remove(mockObject);
+      world.flush();
       manager.update(2f);
       Mockito.inOrder(mockBehavior).verify(mockBehavior, Mockito.never()).update(2f);
    }
@@ -51,9 +63,11 @@ public class BehaviorManagerTest {
    public void testUpdateWithGlobalBehavior() {
       UpdateableBehavior mockBehavior = Mockito.mock(UpdateableBehavior.class);
       manager.apply(mockBehavior);
+      world.flush();
       manager.update(1f);
       Mockito.inOrder(mockBehavior).verify(mockBehavior, Mockito.calls(1)).update(1f);
       manager.remove(mockBehavior);
+      world.flush();
       manager.update(2f);
       Mockito.inOrder(mockBehavior).verify(mockBehavior, Mockito.never()).update(2f);
    }
@@ -63,6 +77,7 @@ public class BehaviorManagerTest {
       Behavior mockBehavior = Mockito.mock(Behavior.class);
       GameObject mockObject = world.addObject();
       manager.apply(mockBehavior, mockObject);
+      world.flush();
       manager.updateLocally(mockObject, 0f);
       Mockito.inOrder(mockBehavior).verify(mockBehavior, Mockito.calls(1)).onAttach(mockObject);
       Mockito.inOrder(mockBehavior).verify(mockBehavior, Mockito.calls(1)).update(mockObject, 0f);
@@ -74,6 +89,7 @@ public class BehaviorManagerTest {
       GameObject mockObjectA = world.addObject();
       GameObject mockObjectB = world.addObject();
       manager.apply(mockBehavior);
+      world.flush();
       manager.updateGlobally(mockObjectA, 0f);
       manager.updateGlobally(mockObjectB, 0f);
       Mockito.inOrder(mockBehavior).verify(mockBehavior, Mockito.calls(1)).update(mockObjectA, 0f);
@@ -86,9 +102,229 @@ public class BehaviorManagerTest {
       GameObject mockObject = world.addObject();
       manager.apply(mockBehavior, mockObject);
       manager.remove(mockObject);
+      world.flush();
       manager.updateLocally(mockObject, 0f);
       manager.updateGlobally(mockObject, 0f);
       Mockito.inOrder(mockBehavior).verify(mockBehavior, Mockito.calls(1)).onDetach(mockObject);
       Mockito.inOrder(mockBehavior).verify(mockBehavior, Mockito.never()).update(mockObject, 0f);
    }
+
+   @Test
+   public void testBehaviorsAreNotInheritedByReusedSlot() {
+      Behavior mockBehavior = Mockito.mock(Behavior.class);
+      GameObject removed = world.addObject();
+      manager.apply(mockBehavior, removed);
+      world.remove(removed);
+      world.flush();
+      GameObject reused = world.addObject();
+      assertThat(reused.getSlot()).isEqualTo(removed.getSlot());
+      manager.updateLocally(reused, 0f);
+      Mockito.verify(mockBehavior, Mockito.never()).update(reused, 0f);
+   }
+
+   @Test
+   public void testFilteredBehaviorOnlyReceivesMatchingPairs() {
+      final List<GameObject> targets = new ArrayList<GameObject>();
+      FilteredPairCollector behavior = new FilteredPairCollector(targets);
+      behavior.filter.setSourceTypes("player").setTargetTypes("coin");
+      manager.apply(behavior);
+      GameObject player = world.addObject();
+      player.setType("player");
+      GameObject coin = world.addObject();
+      coin.setType("coin");
+      GameObject wall = world.addObject();
+      wall.setType("wall");
+      world.flush();
+      assertThat(manager.isUpdatingPairs(player)).isTrue();
+      assertThat(manager.isUpdatingPairs(coin)).isFalse();
+      manager.updateGloballyCompared(player, coin, 0f);
+      manager.updateGloballyCompared(player, wall, 0f);
+      manager.updateGloballyCompared(coin, player, 0f);
+      assertThat(targets).containsExactly(coin);
+   }
+
+   @Test
+   public void testUpdateIsolatedBehaviorsInParallel() {
+      manager.setParallelism(4);
+      final int count = BehaviorManager.PARALLEL_THRESHOLD * 2;
+      CountingBehavior[] behaviors = new CountingBehavior[count];
+      for (int i = 0; i < count; ++i) {
+         behaviors[i] = new CountingBehavior();
+         manager.apply(behaviors[i], world.addObject());
+      }
+      world.flush();
+      manager.update(1f);
+      world.update(1f);
+      for (CountingBehavior behavior : behaviors) {
+         assertThat(behavior.updates).isEqualTo(1);
+      }
+      manager.dispose();
+   }
+
+   @Test
+   public void testScheduledBehaviorReceivesAccumulatedDelta() {
+      DeltaRecorder first = new DeltaRecorder();
+      DeltaRecorder second = new DeltaRecorder();
+      GameObject firstObject = world.addObject();
+      GameObject secondObject = world.addObject();
+      manager.apply(first, firstObject, UpdateSchedule.every(1f));
+      manager.apply(second, secondObject, UpdateSchedule.every(1f));
+      world.flush();
+      assertThat(firstObject.getSlot()).isNotEqualTo(secondObject.getSlot());
+      for (int frame = 1; frame <= 16; ++frame) {
+         first.frame = frame;
+         second.frame = frame;
+         manager.updateLocally(firstObject, 0.0625f);
+         manager.updateLocally(secondObject, 0.0625f);
+      }
+      assertThat(first.deltas).hasSize(1);
+      assertThat(second.deltas).hasSize(1);
+      // objects are spread across the interval by their slot
+      assertThat(first.frames.get(0)).isNotEqualTo(second.frames.get(0));
+      assertThat(first.deltas.get(0)).isEqualTo(first.frames.get(0) * 0.0625f);
+      assertThat(second.deltas.get(0)).isEqualTo(second.frames.get(0) * 0.0625f);
+      int lastFrame = first.frames.get(0);
+      for (int frame = 17; frame <= lastFrame + 16; ++frame) {
+         first.frame = frame;
+         manager.updateLocally(firstObject, 0.0625f);
+      }
+      assertThat(first.frames).containsExactly(lastFrame, lastFrame + 16);
+      assertThat(first.deltas.get(1)).isEqualTo(1f);
+   }
+
+   @Test
+   public void testScheduledBehaviorIntervalDependsOnCameraDistance() {
+      OrthographicCamera camera = new OrthographicCamera();
+      manager.setLodCamera(camera);
+      DeltaRecorder behavior = new DeltaRecorder();
+      GameObject object = world.addObject();
+      manager.apply(behavior, object, UpdateSchedule.byDistance(100f, 0.125f, 300f, 0.5f));
+      world.flush();
+      camera.position.set(object.getLeft(), object.getTop(), 0f);
+      for (int i = 0; i < 4; ++i) {
+         manager.updateLocally(object, 0.125f);
+      }
+      assertThat(behavior.deltas).containsExactly(0.125f, 0.125f, 0.125f, 0.125f);
+      behavior.deltas.clear();
+      camera.position.set(object.getLeft() + 1000f, object.getTop(), 0f);
+      for (int i = 0; i < 8; ++i) {
+         manager.updateLocally(object, 0.125f);
+      }
+      assertThat(behavior.deltas).containsExactly(0.5f, 0.5f);
+      assertThat(UpdateSchedule.byDistance(100f, 0.1f, 300f, 0.5f).getInterval(200f)).isEqualTo(0.3f);
+   }
+
+   @Test
+   public void testProfilerRecordsBehaviorUpdates() {
+      Profiler profiler = new Profiler();
+      manager.setProfiler(profiler);
+      GameObject object = world.addObject();
+      manager.apply(new CountingBehavior(), object);
+      world.flush();
+      for (int i = 0; i < 3; ++i) {
+         manager.update(1f);
+         world.update(1f);
+      }
+      TimingHistogram histogram = profiler.get(CountingBehavior.class);
+      assertThat(histogram.getCount()).isEqualTo(3);
+      assertThat(histogram.getP99()).isLessThanOrEqualTo(histogram.getMax());
+      assertThat(profiler.getEntries().size).isEqualTo(1);
+      assertThat(profiler.getEntries().first().getType()).isEqualTo(CountingBehavior.class);
+   }
+
+   @Test
+   public void testIsolatedBehaviorsMoveAfterPreviousTransformIsCaptured() {
+      VelocityMovementBehavior movement = new VelocityMovementBehavior();
+      movement.move(new Vector2(10f, 0f));
+      GameObject object = world.addObject();
+      manager.apply(movement, object);
+      world.flush();
+      manager.update(1f);
+      world.update(1f);
+      TransformStorage transform = object.getTransformStorage();
+      int index = object.getTransformIndex();
+      assertThat(transform.get(TransformStorage.PREVIOUS_X, index)).isEqualTo(0f);
+      assertThat(transform.get(TransformStorage.X, index)).isEqualTo(10f);
+   }
+
+   @Test
+   public void testIsolatedBehaviorsOfDormantObjectsAreTickedWithAccumulatedDelta() {
+      OrthographicCamera camera = new OrthographicCamera();
+      camera.viewportWidth = 100f;
+      camera.viewportHeight = 100f;
+      world = new GameWorld(camera);
+      manager = new BehaviorManager(world);
+      world.addListener(new BehaviorManagerAdapter(manager));
+      ActivityRegions regions = new ActivityRegions(50f, 0);
+      regions.setDormantTickInterval(4);
+      world.setActivityRegions(regions);
+      final List<Float> deltas = new ArrayList<Float>();
+      GameObject far = world.addObject();
+      far.setPosition(1000f, 1000f);
+      manager.apply(new DeltaCollector(deltas), far);
+      for (int i = 0; i < 8; ++i) {
+         manager.update(1f);
+         world.update(1f);
+      }
+      assertThat(deltas).hasSize(2);
+      assertThat(deltas.get(1)).isEqualTo(4f);
+   }
+
+   private static class DeltaRecorder extends BehaviorAdapter {
+
+      final List<Float> deltas = new ArrayList<Float>();
+      final List<Integer> frames = new ArrayList<Integer>();
+      int frame;
+
+      @Override
+      public void update(GameObject source, float delta) {
+         deltas.add(delta);
+         frames.add(frame);
+      }
+   }
+
+   private static class DeltaCollector extends BehaviorAdapter implements IsolatedBehavior {
+
+      final List<Float> deltas;
+
+      DeltaCollector(List<Float> deltas) {
+         this.deltas = deltas;
+      }
+
+      @Override
+      public void update(GameObject source, float delta) {
+         deltas.add(delta);
+      }
+   }
+
+   private static class CountingBehavior extends BehaviorAdapter implements IsolatedBehavior {
+
+      int updates;
+
+      @Override
+      public void update(GameObject source, float delta) {
+         updates++;
+         source.move(delta, 0f);
+      }
+   }
+
+   private static class FilteredPairCollector extends BehaviorAdapter implements FilteredBehavior {
+
+      final PairFilter filter = new PairFilter();
+      final List<GameObject> targets;
+
+      FilteredPairCollector(List<GameObject> targets) {
+         this.targets = targets;
+      }
+
+      @Override
+      public PairFilter getPairFilter() {
+         return filter;
+      }
+
+      @Override
+      public void update(GameObject source, GameObject target, float delta) {
+         targets.add(target);
+      }
+   }
 }
@@ -2,6 +2,7 @@ package de.bitbrain.braingdx.event;
 
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
 import de.bitbrain.braingdx.util.GdxUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -9,6 +10,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -51,6 +53,122 @@ public class GameEventManagerTest {
       impl.publish(event);
    }
 
+   @Test
+   public void testPublishEventToHierarchyListeners() {
+      GameEventListener<GameEvent> anyListener = mock(GameEventListener.class);
+      impl.register(anyListener, GameEvent.class);
+      impl.register(listener, ConcreteGameEvent.class);
+      SpecificGameEvent specificEvent = new SpecificGameEvent();
+      impl.publish(specificEvent);
+      verify(listener, times(1)).onEvent(specificEvent);
+      verify(anyListener, times(1)).onEvent(specificEvent);
+   }
+
+   @Test
+   public void testUnregisterDuringPublishDoesNotAffectDispatch() {
+      final GameEventListener<ConcreteGameEvent> other = mock(GameEventListener.class);
+      impl.register(new GameEventListener<ConcreteGameEvent>() {
+         @Override
+         public void onEvent(ConcreteGameEvent event) {
+            impl.unregister(other, ConcreteGameEvent.class);
+         }
+      }, ConcreteGameEvent.class);
+      impl.register(other, ConcreteGameEvent.class);
+      impl.publish(event);
+      impl.publish(event);
+      verify(other, times(1)).onEvent(event);
+   }
+
+   @Test
+   public void testFlushPublishesQueuedEventsInBatches() {
+      final int[] batchSizes = new int[1];
+      impl.register(listener, ConcreteGameEvent.class);
+      impl.registerBatch(new GameEventBatchListener<ConcreteGameEvent>() {
+         @Override
+         public void onEvents(Array<ConcreteGameEvent> events) {
+            batchSizes[0] += events.size;
+         }
+      }, ConcreteGameEvent.class);
+      ConcreteGameEvent pooled = impl.obtain(ConcreteGameEvent.class);
+      impl.enqueue(pooled);
+      impl.enqueue(impl.obtain(ConcreteGameEvent.class));
+      verify(listener, never()).onEvent(pooled);
+      impl.flush();
+      verify(listener, times(1)).onEvent(pooled);
+      assertThat(batchSizes[0]).isEqualTo(2);
+      impl.flush();
+      assertThat(batchSizes[0]).isEqualTo(2);
+      ConcreteGameEvent first = impl.obtain(ConcreteGameEvent.class);
+      ConcreteGameEvent second = impl.obtain(ConcreteGameEvent.class);
+      assertThat(pooled).isIn(first, second);
+   }
+
+   @Test(timeout = 5000)
+   public void testAsyncListenerCompletesOnFlush() throws InterruptedException {
+      final Thread mainThread = Thread.currentThread();
+      final Thread[] threads = new Thread[2];
+      impl.registerAsync(new AsyncGameEventListener<ConcreteGameEvent, Thread>() {
+         @Override
+         public Thread process(ConcreteGameEvent event) {
+            return Thread.currentThread();
+         }
+
+         @Override
+         public void onComplete(ConcreteGameEvent event, Thread result) {
+            threads[0] = result;
+            threads[1] = Thread.currentThread();
+         }
+      }, ConcreteGameEvent.class);
+      impl.publish(event);
+      while (threads[1] == null) {
+         Thread.sleep(5);
+         impl.flush();
+      }
+      assertThat(threads[0]).isNotSameAs(mainThread);
+      assertThat(threads[1]).isSameAs(mainThread);
+      ((GameEventManagerImpl) impl).dispose();
+   }
+
+   @Test
+   public void testMetricsCountPublishesAndFanOut() {
+      EventMetrics metrics = new EventMetrics();
+      ((GameEventManagerImpl) impl).setMetrics(metrics);
+      impl.register(listener, ConcreteGameEvent.class);
+      impl.publish(event);
+      impl.publish(event);
+      impl.publish(new SpecificGameEvent());
+      impl.unregister(listener, ConcreteGameEvent.class);
+      impl.publish(event);
+      EventMetrics.EventStats stats = metrics.get(ConcreteGameEvent.class);
+      assertThat(stats.getPublishedCount()).isEqualTo(3);
+      assertThat(stats.getUnlistenedCount()).isEqualTo(1);
+      assertThat(stats.getFanOut()).isEqualTo(2f / 3f);
+      assertThat(stats.getLatency().getCount()).isEqualTo(3);
+      assertThat(metrics.getEventTypes()).containsExactly(ConcreteGameEvent.class, SpecificGameEvent.class);
+      assertThat(metrics.getListenerProfiler().get(listener.getClass()).getCount()).isEqualTo(3);
+   }
+
+   @Test
+   public void testMetricsCountBatchListenersOfQueuedEvents() {
+      EventMetrics metrics = new EventMetrics();
+      ((GameEventManagerImpl) impl).setMetrics(metrics);
+      impl.registerBatch(new GameEventBatchListener<ConcreteGameEvent>() {
+         @Override
+         public void onEvents(Array<ConcreteGameEvent> events) {
+         }
+      }, ConcreteGameEvent.class);
+      impl.enqueue(impl.obtain(ConcreteGameEvent.class));
+      impl.flush();
+      EventMetrics.EventStats stats = metrics.get(ConcreteGameEvent.class);
+      assertThat(stats.getPublishedCount()).isEqualTo(1);
+      assertThat(stats.getUnlistenedCount()).isEqualTo(0);
+      assertThat(stats.getFanOut()).isEqualTo(1f);
+   }
+
+   private static class SpecificGameEvent extends ConcreteGameEvent {
+
+   }
+
    private static class ConcreteGameEvent implements GameEvent {
 
    }
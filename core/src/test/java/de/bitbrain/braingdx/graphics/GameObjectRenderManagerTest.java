@@ -0,0 +1,137 @@
+package de.bitbrain.braingdx.graphics;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import de.bitbrain.braingdx.graphics.GameObjectRenderManager.GameObjectRenderer;
+import de.bitbrain.braingdx.world.GameObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GameObjectRenderManagerTest {
+
+   private static final String TYPE = "type";
+
+   @Mock
+   private Batch batch;
+
+   @Mock
+   private GameObjectRenderer renderer;
+
+   private GameObjectRenderManager manager;
+
+   @Before
+   public void beforeTest() {
+      OrthographicCamera camera = new OrthographicCamera();
+      camera.viewportWidth = 100f;
+      camera.viewportHeight = 100f;
+      camera.position.set(50f, 50f, 0f);
+      manager = new GameObjectRenderManager(batch);
+      manager.setCullingCamera(camera);
+   }
+
+   @After
+   public void afterTest() {
+      manager.dispose();
+   }
+
+   @Test
+   public void testRenderVisibleObject() {
+      manager.register(TYPE, renderer);
+      GameObject object = createObject(10f, 10f);
+      manager.render(object, 0f);
+      verify(renderer).render(object, batch, 0f);
+      assertThat(manager.getDrawnCount()).isEqualTo(1);
+      assertThat(manager.getCulledCount()).isEqualTo(0);
+   }
+
+   @Test
+   public void testCullObjectOutsideOfCamera() {
+      manager.register(TYPE, renderer);
+      GameObject object = createObject(200f, 10f);
+      manager.render(object, 0f);
+      verify(renderer, never()).render(object, batch, 0f);
+      assertThat(manager.getCulledCount()).isEqualTo(1);
+      manager.resetStatistics();
+      assertThat(manager.getCulledCount()).isEqualTo(0);
+   }
+
+   @Test
+   public void testScaleAndOffsetAreConsidered() {
+      manager.register(TYPE, renderer);
+      GameObject scaled = createObject(106f, 10f);
+      scaled.setScale(2f);
+      GameObject offset = createObject(120f, 10f);
+      offset.setOffset(-30f, 0f);
+      manager.render(scaled, 0f);
+      manager.render(offset, 0f);
+      assertThat(manager.getDrawnCount()).isEqualTo(2);
+   }
+
+   @Test
+   public void testRotationIsConsidered() {
+      manager.register(TYPE, renderer);
+      GameObject object = createObject(101f, 10f);
+      object.setDimensions(2f, 20f);
+      manager.render(object, 0f);
+      assertThat(manager.getCulledCount()).isEqualTo(1);
+      object.setRotation(90f);
+      manager.render(object, 0f);
+      assertThat(manager.getDrawnCount()).isEqualTo(1);
+   }
+
+   @Test
+   public void testScalingAroundOriginIsConsidered() {
+      manager.register(TYPE, renderer);
+      GameObject object = createObject(-18f, 10f);
+      object.setScale(2f);
+      object.setOrigin(0f, 0f);
+      manager.render(object, 0f);
+      assertThat(manager.getDrawnCount()).isEqualTo(1);
+   }
+
+   @Test
+   public void testRenderersAreNotSharedBetweenManagers() {
+      GameObjectRenderManager other = new GameObjectRenderManager(batch);
+      other.register(TYPE, renderer, 50f);
+      manager.register(TYPE, renderer);
+      GameObject object = createObject(130f, 10f);
+      manager.render(object, 0f);
+      assertThat(manager.getCulledCount()).isEqualTo(1);
+      other.dispose();
+      manager.render(createObject(10f, 10f), 0f);
+      assertThat(manager.getDrawnCount()).isEqualTo(1);
+   }
+
+   @Test
+   public void testCullingMarginOfRenderer() {
+      manager.register(TYPE, renderer, 50f);
+      GameObject object = createObject(130f, 10f);
+      manager.render(object, 0f);
+      assertThat(manager.getDrawnCount()).isEqualTo(1);
+   }
+
+   @Test
+   public void testObjectsWithoutSizeAreNeverCulled() {
+      manager.register(TYPE, renderer);
+      GameObject object = createObject(500f, 500f);
+      object.setDimensions(0f, 0f);
+      manager.render(object, 0f);
+      assertThat(manager.getDrawnCount()).isEqualTo(1);
+   }
+
+   private GameObject createObject(float x, float y) {
+      GameObject object = new GameObject();
+      object.setType(TYPE);
+      object.setPosition(x, y);
+      object.setDimensions(16f, 16f);
+      return object;
+   }
+}
@@ -387,6 +387,56 @@ public class TiledMapManagerTest {
       assertThat(calls.get()).isEqualTo(2);
    }
 
+   @Test
+   public void router_publishesEventOfReusedSlotAfterClear() {
+      GameWorld routedWorld = new GameWorld(camera);
+      BehaviorManager behaviorManager = new BehaviorManager(routedWorld);
+      routedWorld.addListener(new BehaviorManagerAdapter(behaviorManager));
+      AtomicInteger calls = new AtomicInteger();
+      GameEventRouter router = createRouter(routedWorld, calls);
+      behaviorManager.apply(router);
+      GameObject event = addRoutedObject(routedWorld, "event");
+      addRoutedObject(routedWorld, "player");
+      routedWorld.flush();
+      routedWorld.update(0f);
+      assertThat(calls.get()).isEqualTo(1);
+
+      routedWorld.clear();
+      behaviorManager.apply(router);
+      // released slots are reused in reverse order
+      addRoutedObject(routedWorld, "player");
+      GameObject reused = addRoutedObject(routedWorld, "event");
+      routedWorld.flush();
+      routedWorld.update(0f);
+      assertThat(reused.getSlot()).isEqualTo(event.getSlot());
+      assertThat(calls.get()).isEqualTo(2);
+   }
+
+   @Test
+   public void router_publishesEventOfSleepingEventObject() {
+      GameWorld routedWorld = new GameWorld(camera);
+      routedWorld.setSleepThreshold(2);
+      BehaviorManager behaviorManager = new BehaviorManager(routedWorld);
+      routedWorld.addListener(new BehaviorManagerAdapter(behaviorManager));
+      AtomicInteger calls = new AtomicInteger();
+      behaviorManager.apply(createRouter(routedWorld, calls));
+      GameObject event = addRoutedObject(routedWorld, "event");
+      GameObject player = addRoutedObject(routedWorld, "player");
+      player.setPosition(500f, 500f);
+      routedWorld.flush();
+      for (int i = 0; i < 3; ++i) {
+         player.move(1f, 0f);
+         routedWorld.update(0f);
+      }
+      assertThat(event.isSleeping()).isTrue();
+      assertThat(calls.get()).isEqualTo(0);
+      player.setPosition(0f, 0f);
+      routedWorld.update(0f);
+      assertThat(calls.get()).isEqualTo(1);
+      routedWorld.update(0f);
+      assertThat(calls.get()).isEqualTo(1);
+   }
+
    @Test
    public void load_withSimple3x3Map_removeLastCollisionOnSimpleMove() {
       TiledMap map = new MockTiledMapBuilder(2, 2, 1)
@@ -489,6 +539,45 @@ public class TiledMapManagerTest {
       return createSimple3x3Map(false);
    }
 
+   private GameEventRouter createRouter(GameWorld world, final AtomicInteger calls) {
+      GameEventRouter router = new GameEventRouter(gameEventManager, world, new GameEventRouter.GameEventInfoExtractor() {
+         @Override
+         public boolean isSticky(GameObject object) {
+            return false;
+         }
+
+         @Override
+         public String getProducer(GameObject object) {
+            return null;
+         }
+      });
+      router.setEventFactory(new GameEventFactory() {
+         @Override
+         public GameEvent create(GameObject eventObject, GameObject producerObject) {
+            return new TestEvent();
+         }
+
+         @Override
+         public Object[] identifiers() {
+            return new Object[]{"event"};
+         }
+      });
+      gameEventManager.register(new GameEventListener<TestEvent>() {
+         @Override
+         public void onEvent(TestEvent event) {
+            calls.addAndGet(1);
+         }
+      }, TestEvent.class);
+      return router;
+   }
+
+   private GameObject addRoutedObject(GameWorld world, String type) {
+      GameObject object = world.addObject();
+      object.setType(type);
+      object.setDimensions(32f, 32f);
+      return object;
+   }
+
    private class TestEvent implements GameEvent {
 
    }
@@ -0,0 +1,40 @@
+package de.bitbrain.braingdx.util;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class FixedTimeStepTest {
+
+   @Test
+   public void testDisabledStepsOncePerFrame() {
+      FixedTimeStep timeStep = new FixedTimeStep(0f);
+      assertThat(timeStep.advance(0.5f)).isEqualTo(1);
+      assertThat(timeStep.getAlpha()).isEqualTo(1f);
+   }
+
+   @Test
+   public void testAccumulatesFixedSteps() {
+      FixedTimeStep timeStep = new FixedTimeStep(0.1f);
+      assertThat(timeStep.advance(0.05f)).isEqualTo(0);
+      assertThat(timeStep.getAlpha()).isCloseTo(0.5f, within(0.0001f));
+      assertThat(timeStep.advance(0.2f)).isEqualTo(2);
+      assertThat(timeStep.getAlpha()).isCloseTo(0.5f, within(0.0001f));
+   }
+
+   @Test
+   public void testClampsSlowFrames() {
+      FixedTimeStep timeStep = new FixedTimeStep(0.1f);
+      assertThat(timeStep.advance(10f)).isEqualTo(2);
+      assertThat(timeStep.getAlpha()).isCloseTo(0.5f, within(0.0001f));
+   }
+
+   @Test
+   public void testChangingTimeStepResetsAccumulator() {
+      FixedTimeStep timeStep = new FixedTimeStep(0.1f);
+      timeStep.advance(0.05f);
+      timeStep.setTimeStep(0.2f);
+      assertThat(timeStep.getAlpha()).isEqualTo(0f);
+   }
+}
@@ -1,13 +1,28 @@
 package de.bitbrain.braingdx.world;
 
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
 import de.bitbrain.braingdx.util.GdxUtils;
+import de.bitbrain.braingdx.util.Mutator;
+import de.bitbrain.braingdx.util.Profiler;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -66,6 +81,36 @@ public class GameWorldTest {
       assertThat(world.size()).isEqualTo(0);
    }
 
+   @Test
+   public void testGetObjectByHandle() {
+      GameObject object = world.addObject();
+      assertThat(object.getHandle()).isNotEqualTo(0L);
+      assertThat(world.getObjectByHandle(object.getHandle())).isSameAs(object);
+   }
+
+   @Test
+   public void testGetObjectByHandle_StaleHandleAfterRemoval() {
+      GameObject object = world.addObject();
+      long handle = object.getHandle();
+      world.remove(object);
+      world.update(0f);
+      GameObject reused = world.addObject();
+      assertThat(world.getObjectByHandle(handle)).isNull();
+      assertThat(world.getObjectByHandle(reused.getHandle())).isSameAs(reused);
+      assertThat(reused.getHandle()).isNotEqualTo(handle);
+   }
+
+   @Test
+   public void testGetObjectById() {
+      GameObject object = world.addObject();
+      GameObject custom = world.addObject(new GameObjectIdMutator("custom-id"));
+      assertThat(world.getObjectById(object.getId())).isSameAs(object);
+      assertThat(world.getObjectById("custom-id")).isSameAs(custom);
+      world.remove(custom);
+      world.update(0f);
+      assertThat(world.getObjectById("custom-id")).isNull();
+   }
+
    @Test
    public void testUpdateWithListener() {
       GameObject object = world.addObject();
@@ -74,4 +119,607 @@ public class GameWorldTest {
       world.update(0f);
       assertThat(object.getId()).isEqualTo(fakeIdSupplier.getCurrentId());
    }
+
+   @Test
+   public void testPairwiseUpdateOnlyForNearbyObjects() {
+      GameObject a = world.addObject();
+      a.setDimensions(10f, 10f);
+      GameObject b = world.addObject();
+      b.setPosition(5f, 5f);
+      b.setDimensions(10f, 10f);
+      GameObject c = world.addObject();
+      c.setPosition(1000f, 1000f);
+      c.setDimensions(10f, 10f);
+      PairCounter counter = new PairCounter();
+      world.addListener(counter);
+      world.update(0f);
+      assertThat(counter.pairs).isEqualTo(2);
+   }
+
+   @Test
+   public void testPairwiseUpdateWithinInteractionRadius() {
+      world.setBroadPhase(new SpatialHashBroadPhase(16f, 100f));
+      GameObject a = world.addObject();
+      a.setDimensions(10f, 10f);
+      GameObject b = world.addObject();
+      b.setPosition(80f, 0f);
+      b.setDimensions(10f, 10f);
+      PairCounter counter = new PairCounter();
+      world.addListener(counter);
+      world.update(0f);
+      assertThat(counter.pairs).isEqualTo(2);
+   }
+
+   @Test
+   public void testPairwiseUpdateWithAllPairsBroadPhase() {
+      world.setBroadPhase(new AllPairsBroadPhase());
+      world.addObject();
+      GameObject b = world.addObject();
+      b.setPosition(1000f, 1000f);
+      GameObject c = world.addObject();
+      c.setPosition(-1000f, 500f);
+      PairCounter counter = new PairCounter();
+      world.addListener(counter);
+      world.update(0f);
+      assertThat(counter.pairs).isEqualTo(6);
+   }
+
+   @Test
+   public void testUpdateOrdersByZIndex() {
+      GameObject a = world.addObject();
+      a.setZIndex(3f);
+      GameObject b = world.addObject();
+      b.setZIndex(1f);
+      GameObject c = world.addObject();
+      c.setZIndex(2f);
+      world.update(0f);
+      assertThat(world).containsExactly(b, c, a);
+      b.setZIndex(5f);
+      world.update(0f);
+      assertThat(world).containsExactly(c, a, b);
+      a.setZIndex(0f);
+      c.setZIndex(6f);
+      world.update(0f);
+      assertThat(world).containsExactly(a, b, c);
+   }
+
+   @Test
+   public void testLazyObjectsWithZIndexAreOrderedOnceWhenRenderedBeforeFlush() {
+      world.addObject();
+      Mutator<GameObject> zIndexMutator = new Mutator<GameObject>() {
+         @Override
+         public void mutate(GameObject target) {
+            target.setZIndex(2f);
+         }
+      };
+      GameObject lazy = world.addObject(zIndexMutator, true);
+      world.render(0f);
+      assertThat(world.size()).isEqualTo(1);
+      world.update(0f);
+      assertThat(world.size()).isEqualTo(2);
+      for (int i = 0; i < ZIndexOrder.INCREMENTAL_LIMIT + 8; ++i) {
+         world.addObject(zIndexMutator, true);
+      }
+      world.render(0f);
+      world.update(0f);
+      assertThat(world.size()).isEqualTo(ZIndexOrder.INCREMENTAL_LIMIT + 10);
+      Set<GameObject> distinct = new HashSet<GameObject>();
+      for (GameObject object : world) {
+         distinct.add(object);
+      }
+      assertThat(distinct).hasSize(world.size());
+      world.remove(lazy);
+      world.update(0f);
+      assertThat(world).doesNotContain(lazy);
+   }
+
+   @Test
+   public void testStructureOfArraysTransformStorage() {
+      world = new GameWorld(camera, 2, GameWorld.TransformStorageMode.STRUCTURE_OF_ARRAYS);
+      GameObject template = new GameObject();
+      template.setPosition(10f, 20f);
+      template.setDimensions(32f, 16f);
+      template.setZIndex(4f);
+      GameObject object = world.addObject(template.mutator());
+      for (int i = 0; i < 5; ++i) {
+         world.addObject();
+      }
+      TransformStorage storage = world.getTransformStorage();
+      assertThat(object.getTransformStorage()).isSameAs(storage);
+      assertThat(storage.getCapacity()).isGreaterThanOrEqualTo(6);
+      assertThat(storage.get(TransformStorage.X, object.getTransformIndex())).isEqualTo(10f);
+      assertThat(storage.get(TransformStorage.Y, object.getTransformIndex())).isEqualTo(20f);
+      assertThat(storage.get(TransformStorage.WIDTH, object.getTransformIndex())).isEqualTo(32f);
+      assertThat(storage.get(TransformStorage.Z_INDEX, object.getTransformIndex())).isEqualTo(4f);
+      object.move(5f, 5f);
+      assertThat(storage.get(TransformStorage.X, object.getTransformIndex())).isEqualTo(15f);
+      assertThat(object.getLastPosition().x).isEqualTo(10f);
+      world.remove(object);
+      world.update(0f);
+      assertThat(object.getTransformStorage()).isNotSameAs(storage);
+      assertThat(object.getLeft()).isEqualTo(0f);
+      assertThat(object.getScaleX()).isEqualTo(1f);
+   }
+
+   @Test
+   public void testTypedAttributes() {
+      AttributeKey<String> name = new AttributeKey<String>("name");
+      IntAttributeKey tileX = new IntAttributeKey("tileX");
+      FloatAttributeKey speed = new FloatAttributeKey("speed");
+      GameObject template = new GameObject();
+      template.setAttribute(name, "player");
+      template.setAttribute(tileX, 7);
+      template.setAttribute(speed, 2.5f);
+      GameObject object = world.addObject(template.mutator());
+      assertThat(object.getAttribute(name)).isEqualTo("player");
+      assertThat(object.getAttribute(tileX, -1)).isEqualTo(7);
+      assertThat(object.getAttribute(speed, 0f)).isEqualTo(2.5f);
+      object.removeAttribute(tileX);
+      assertThat(object.hasAttribute(tileX)).isFalse();
+      assertThat(object.getOrSetAttribute(tileX, 3)).isEqualTo(3);
+      assertThat(object.getAttribute(tileX, -1)).isEqualTo(3);
+      world.remove(object);
+      world.update(0f);
+      assertThat(object.hasAttribute(name)).isFalse();
+      assertThat(object.hasAttribute(tileX)).isFalse();
+      assertThat(object.hasAttribute(speed)).isFalse();
+   }
+
+   @Test
+   public void testIdleObjectsFallAsleep() {
+      world.setSleepThreshold(2);
+      UpdateCounter counter = new UpdateCounter();
+      world.addListener(counter);
+      GameObject object = world.addObject();
+      world.update(0f);
+      world.update(0f);
+      assertThat(object.isSleeping()).isTrue();
+      world.update(0f);
+      assertThat(counter.updates).isEqualTo(2);
+      object.move(1f, 0f);
+      assertThat(object.isSleeping()).isFalse();
+      world.update(0f);
+      assertThat(counter.updates).isEqualTo(3);
+   }
+
+   @Test
+   public void testTransientAttributesDoNotWakeSleepingObjects() {
+      FloatAttributeKey stateTime = new FloatAttributeKey("transient_state_time");
+      GameObject object = world.addObject();
+      object.sleep();
+      object.setTransientAttribute(stateTime, 0.5f);
+      object.getColor().a = 0.5f;
+      assertThat(object.isSleeping()).isTrue();
+      assertThat(object.getAttribute(stateTime, 0f)).isEqualTo(0.5f);
+      object.setColor(1f, 1f, 1f, 1f);
+      assertThat(object.isSleeping()).isFalse();
+   }
+
+   @Test
+   public void testSleepingObjectWakesWhenTouchedByMovingNeighbour() {
+      GameObject sleeper = world.addObject();
+      sleeper.setDimensions(10f, 10f);
+      sleeper.sleep();
+      GameObject mover = world.addObject();
+      mover.setDimensions(10f, 10f);
+      mover.setPosition(100f, 100f);
+      world.update(0f);
+      assertThat(sleeper.isSleeping()).isTrue();
+      mover.setPosition(5f, 5f);
+      world.update(0f);
+      assertThat(sleeper.isSleeping()).isFalse();
+   }
+
+   @Test
+   public void testSpawnFromWorkerThreads() throws InterruptedException {
+      final GameObjectIdMutator mutator = new GameObjectIdMutator("spawned");
+      Thread[] workers = new Thread[4];
+      for (int i = 0; i < workers.length; ++i) {
+         workers[i] = new Thread(new Runnable() {
+            @Override
+            public void run() {
+               for (int j = 0; j < 100; ++j) {
+                  world.spawn(mutator);
+               }
+            }
+         });
+         workers[i].start();
+      }
+      for (Thread worker : workers) {
+         worker.join();
+      }
+      assertThat(world.size()).isEqualTo(0);
+      world.flush();
+      assertThat(world.size()).isEqualTo(400);
+      assertThat(world.getCommandBuffer().isEmpty()).isTrue();
+   }
+
+   @Test
+   public void testIdsGeneratedOnWorkerThreadsAreIndexedOnFlush() throws InterruptedException {
+      final GameObject object = world.addObject();
+      final String[] id = new String[1];
+      Thread worker = new Thread(new Runnable() {
+         @Override
+         public void run() {
+            id[0] = object.getId();
+         }
+      });
+      worker.start();
+      worker.join();
+      assertThat(world.getObjectById(id[0])).isNull();
+      world.flush();
+      assertThat(world.getObjectById(id[0])).isSameAs(object);
+   }
+
+   @Test
+   public void testClearDiscardsPendingAdditionsAndNotifiesBeforeReleasingHandles() {
+      final GameObject object = world.addObject();
+      world.addObject(true);
+      final GameObject[] resolved = new GameObject[1];
+      world.addListener(new GameWorld.GameWorldListener() {
+         @Override
+         public void onClear() {
+            resolved[0] = world.getObjectByHandle(object.getHandle());
+         }
+      });
+      world.clear();
+      assertThat(resolved[0]).isSameAs(object);
+      assertThat(world.getPool().getInUseCount()).isEqualTo(0);
+      world.flush();
+      assertThat(world.size()).isEqualTo(0);
+   }
+
+   @Test
+   public void testLazyAdditionIsDeferredUntilFlush() {
+      GameObject object = world.addObject(true);
+      assertThat(world.size()).isEqualTo(0);
+      world.flush();
+      assertThat(world).containsExactly(object);
+   }
+
+   @Test
+   public void testQueryByType() {
+      GameObject a = world.addObject();
+      a.setType("enemy");
+      GameObject b = world.addObject();
+      b.setType("enemy");
+      GameObject c = world.addObject();
+      c.setType("pickup");
+      assertThat(world.count("enemy")).isEqualTo(2);
+      assertThat(world.first("pickup")).isSameAs(c);
+      b.setType("pickup");
+      assertThat(world.count("enemy")).isEqualTo(1);
+      assertThat(world.count("pickup")).isEqualTo(2);
+      world.remove(c);
+      world.flush();
+      assertThat(world.first("pickup")).isSameAs(b);
+      final List<GameObject> visited = new ArrayList<GameObject>();
+      world.forEach("enemy", new GameWorld.Visitor() {
+         @Override
+         public boolean visit(GameObject object) {
+            visited.add(object);
+            return true;
+         }
+      });
+      assertThat(visited).containsExactly(a);
+      assertThat(world.count("unknown")).isEqualTo(0);
+      assertThat(world.first("unknown")).isNull();
+   }
+
+   @Test
+   public void testGameObjectsKeepIdentityWhenHandleChanges() {
+      GameObject object = world.addObject();
+      Set<GameObject> objects = new HashSet<GameObject>();
+      objects.add(object);
+      world.remove(object);
+      world.flush();
+      assertThat(objects).contains(object);
+   }
+
+   @Test
+   public void testStaleRemovalDoesNotRemoveReusedInstance() {
+      final GameObject removed = world.addObject();
+      world.remove(removed);
+      world.spawn(new Mutator<GameObject>() {
+         @Override
+         public void mutate(GameObject target) {
+            target.setType("spawned");
+         }
+      });
+      // enqueued before the instance gets reused by the spawn
+      world.remove(removed);
+      world.flush();
+      assertThat(world.size()).isEqualTo(1);
+      GameObject spawned = world.first("spawned");
+      assertThat(spawned).isSameAs(removed);
+   }
+
+   @Test
+   public void testCopiesFromTemplateAreIndexedByType() {
+      GameObject template = world.addObject();
+      template.setType("enemy");
+      GameObject copy = world.addObject(template.mutator());
+      assertThat(world.count("enemy")).isEqualTo(2);
+      assertThat(copy.getTypeMask()).isEqualTo(template.getTypeMask());
+      GameObject lazyCopy = world.addObject(template.mutator(), true);
+      world.flush();
+      assertThat(world.count("enemy")).isEqualTo(3);
+      assertThat(lazyCopy.getType()).isEqualTo("enemy");
+   }
+
+   @Test
+   public void testProfilerSeparatesPhases() {
+      Profiler profiler = new Profiler();
+      world.setProfiler(profiler);
+      CountingListener listener = new CountingListener();
+      world.addListener(listener);
+      world.addObject();
+      world.update(1f);
+      world.render(1f);
+      world.render(1f);
+      assertThat(profiler.get(CountingListener.class, Profiler.Phase.UPDATE).getCount()).isEqualTo(1);
+      assertThat(profiler.get(CountingListener.class, Profiler.Phase.RENDER).getCount()).isEqualTo(2);
+      assertThat(profiler.get(CountingListener.class, Profiler.Phase.PAIRWISE_UPDATE)).isNull();
+   }
+
+   @Test
+   public void testRenderInterpolatesBetweenUpdates() {
+      GameObject object = world.addObject();
+      world.update(0f);
+      object.setPosition(10f, 20f);
+      final float[] rendered = new float[2];
+      world.addListener(new GameWorld.GameWorldListener() {
+         @Override
+         public void onRender(GameObject object, float delta) {
+            rendered[0] = object.getLeft();
+            rendered[1] = object.getTop();
+         }
+      });
+      world.setInterpolationAlpha(0.5f);
+      assertThat(object.getInterpolatedLeft()).isEqualTo(5f);
+      assertThat(object.getInterpolatedTop()).isEqualTo(10f);
+      world.render(0f);
+      assertThat(rendered).containsExactly(5f, 10f);
+      assertThat(object.getLeft()).isEqualTo(10f);
+      assertThat(object.getTop()).isEqualTo(20f);
+      world.update(0f);
+      world.render(0f);
+      assertThat(rendered).containsExactly(10f, 20f);
+   }
+
+   @Test
+   public void testSnapshotRestoresWorld() throws IOException {
+      IntAttributeKey health = new IntAttributeKey("snapshot_health");
+      AttributeKey<String> name = new AttributeKey<String>("snapshot_name");
+      GameObject object = world.addObject();
+      object.setId("player");
+      object.setType("player");
+      object.setPosition(10f, 20f);
+      object.setZIndex(3f);
+      object.setColor(Color.RED);
+      object.setAttribute(health, 42);
+      object.setAttribute(name, "bob");
+      object.setAttribute("level", 5);
+      object.setAttribute("behavior", new Object());
+      GameObject other = world.addObject();
+      other.setType("enemy");
+      long handle = object.getHandle();
+
+      GameWorldSnapshot snapshot = new GameWorldSnapshot();
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      snapshot.write(world, Channels.newChannel(bytes));
+
+      object.setPosition(0f, 0f);
+      world.addObject();
+      world.remove(other);
+      world.update(0f);
+
+      LongMap<GameObject> handles = snapshot.read(world, Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+      assertThat(world.size()).isEqualTo(2);
+      assertThat(handles.size).isEqualTo(2);
+      GameObject restored = world.getObjectById("player");
+      assertThat(restored).isSameAs(handles.get(handle));
+      assertThat(restored.getType()).isEqualTo("player");
+      assertThat(restored.getLeft()).isEqualTo(10f);
+      assertThat(restored.getTop()).isEqualTo(20f);
+      assertThat(restored.getZIndex()).isEqualTo(3f);
+      assertThat(restored.getColor()).isEqualTo(Color.RED);
+      assertThat(restored.getAttribute(health, 0)).isEqualTo(42);
+      assertThat(restored.getAttribute(name)).isEqualTo("bob");
+      assertThat(restored.getAttribute("level")).isEqualTo(5);
+      assertThat(restored.hasAttribute("behavior")).isFalse();
+      assertThat(world.count("enemy")).isEqualTo(1);
+   }
+
+   @Test
+   public void testPoolIsPrewarmedAndRetainedOnClear() {
+      GameObjectPool pool = world.getPool();
+      pool.prewarm(10);
+      assertThat(pool.getFreeCount()).isEqualTo(10);
+      for (int i = 0; i < 15; ++i) {
+         world.addObject();
+      }
+      assertThat(pool.getMissCount()).isEqualTo(5);
+      assertThat(pool.getPeak()).isEqualTo(15);
+      world.clear();
+      assertThat(pool.getFreedCount()).isEqualTo(15);
+      assertThat(pool.getInUseCount()).isEqualTo(0);
+      assertThat(pool.getFreeCount()).isEqualTo(15);
+      pool.resetStatistics();
+      for (int i = 0; i < 15; ++i) {
+         world.addObject();
+      }
+      assertThat(pool.getMissCount()).isEqualTo(0);
+   }
+
+   @Test
+   public void testPoolShrinksToRecentDemand() {
+      GameObjectPool pool = world.getPool();
+      for (int i = 0; i < 20; ++i) {
+         world.addObject();
+      }
+      world.clear();
+      for (int i = 0; i < 5; ++i) {
+         world.addObject();
+      }
+      world.clear();
+      assertThat(pool.getFreeCount()).isEqualTo(5);
+   }
+
+   @Test
+   public void testActivityRegionsOnlyUpdateObjectsNearCameraAndAnchors() {
+      OrthographicCamera realCamera = new OrthographicCamera();
+      realCamera.viewportWidth = 100f;
+      realCamera.viewportHeight = 100f;
+      realCamera.position.set(50f, 50f, 0f);
+      world = new GameWorld(realCamera);
+      ActivityRegions regions = new ActivityRegions(50f, 1);
+      world.setActivityRegions(regions);
+      GameObject visible = world.addObject();
+      visible.setPosition(10f, 10f);
+      GameObject far = world.addObject();
+      far.setPosition(1000f, 1000f);
+      GameObject persistent = world.addObject();
+      persistent.setPosition(5000f, 5000f);
+      persistent.setPersistent(true);
+      GameObject anchor = world.addObject();
+      anchor.setPosition(3000f, 3000f);
+      GameObject nearAnchor = world.addObject();
+      nearAnchor.setPosition(3040f, 3000f);
+      regions.addAnchor(anchor);
+      final List<GameObject> updated = new ArrayList<GameObject>();
+      world.addListener(new GameWorld.GameWorldListener() {
+         @Override
+         public void onUpdate(GameObject object, float delta) {
+            updated.add(object);
+         }
+      });
+      world.update(1f);
+      assertThat(updated).containsOnly(visible, persistent, anchor, nearAnchor);
+      assertThat(far.isDormant()).isTrue();
+      assertThat(visible.isDormant()).isFalse();
+   }
+
+   @Test
+   public void testDormantObjectsAreTickedWithAccumulatedDelta() {
+      OrthographicCamera realCamera = new OrthographicCamera();
+      realCamera.viewportWidth = 100f;
+      realCamera.viewportHeight = 100f;
+      world = new GameWorld(realCamera);
+      ActivityRegions regions = new ActivityRegions(50f, 0);
+      regions.setDormantTickInterval(4);
+      world.setActivityRegions(regions);
+      GameObject far = world.addObject();
+      far.setPosition(1000f, 1000f);
+      final List<Float> deltas = new ArrayList<Float>();
+      world.addListener(new GameWorld.GameWorldListener() {
+         @Override
+         public void onUpdate(GameObject object, float delta) {
+            deltas.add(delta);
+         }
+      });
+      for (int i = 0; i < 8; ++i) {
+         world.update(1f);
+      }
+      assertThat(deltas).hasSize(2);
+      assertThat(deltas.get(1)).isEqualTo(4f);
+   }
+
+   @Test
+   public void testRangeQueries() {
+      GameObject a = world.addObject();
+      a.setType("enemy");
+      a.setPosition(10f, 10f);
+      a.setDimensions(10f, 10f);
+      GameObject b = world.addObject();
+      b.setType("enemy");
+      b.setPosition(500f, 500f);
+      b.setDimensions(10f, 10f);
+      GameObject c = world.addObject();
+      c.setType("item");
+      c.setPosition(40f, 10f);
+      c.setDimensions(10f, 10f);
+      world.update(0f);
+      Array<GameObject> result = new Array<GameObject>();
+      assertThat(world.query(0f, 0f, 100f, 100f, null, result)).isEqualTo(2);
+      assertThat(result).containsOnly(a, c);
+      result.clear();
+      assertThat(world.query(0f, 0f, 100f, 100f, "enemy", result)).isEqualTo(1);
+      assertThat(result).containsOnly(a);
+      result.clear();
+      assertThat(world.queryRadius(30f, 15f, 11f, null, result)).isEqualTo(2);
+      result.clear();
+      assertThat(world.queryRadius(505f, 490f, 5f, null, result)).isEqualTo(0);
+   }
+
+   @Test
+   public void testRaycast() {
+      GameObject near = world.addObject();
+      near.setPosition(300f, 0f);
+      near.setDimensions(10f, 10f);
+      GameObject far = world.addObject();
+      far.setType("wall");
+      far.setPosition(600f, 0f);
+      far.setDimensions(10f, 10f);
+      world.update(0f);
+      Vector2 hit = new Vector2();
+      assertThat(world.raycast(0f, 5f, 1000f, 5f, null, hit)).isSameAs(near);
+      assertThat(hit.x).isEqualTo(300f);
+      assertThat(world.raycast(0f, 5f, 1000f, 5f, "wall")).isSameAs(far);
+      assertThat(world.raycast(0f, 50f, 1000f, 50f, null)).isNull();
+      assertThat(world.raycast(1000f, 5f, 0f, 5f, null)).isSameAs(far);
+   }
+
+   @Test
+   public void testPairsAreOnlyCollectedForConsumingListeners() {
+      final int[] collected = new int[1];
+      world.setBroadPhase(new AllPairsBroadPhase() {
+         @Override
+         public void collectCandidates(GameObject source, Array<GameObject> result) {
+            collected[0]++;
+            super.collectCandidates(source, result);
+         }
+      });
+      world.addObject();
+      world.addObject();
+      world.addListener(new UpdateCounter());
+      world.update(0f);
+      assertThat(collected[0]).isEqualTo(0);
+      PairCounter pairCounter = new PairCounter();
+      world.addListener(pairCounter);
+      world.update(0f);
+      assertThat(collected[0]).isEqualTo(2);
+      assertThat(pairCounter.pairs).isEqualTo(2);
+   }
+
+   private static class CountingListener extends GameWorld.GameWorldListener {
+
+      @Override
+      public void onUpdate(GameObject object, float delta) {
+      }
+
+      @Override
+      public void onRender(GameObject object, float delta) {
+      }
+   }
+
+   private static class UpdateCounter extends GameWorld.GameWorldListener {
+
+      int updates;
+
+      @Override
+      public void onUpdate(GameObject object, float delta) {
+         updates++;
+      }
+   }
+
+   private static class PairCounter extends GameWorld.GameWorldListener {
+
+      int pairs;
+
+      @Override
+      public void onUpdate(GameObject object, GameObject other, float delta) {
+         pairs++;
+      }
+   }
 }
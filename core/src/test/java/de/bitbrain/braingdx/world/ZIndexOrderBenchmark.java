@@ -0,0 +1,68 @@
+package de.bitbrain.braingdx.world;
+
+import de.bitbrain.braingdx.util.ZIndexComparator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares sorting all game objects by z-index against the incremental {@link ZIndexOrder}
+ * for a world of mostly static game objects. Run via its main method.
+ */
+public class ZIndexOrderBenchmark {
+
+   private static final int OBJECTS = 10000;
+   private static final int CHANGES_PER_FRAME = 10;
+   private static final int WARMUP_FRAMES = 2000;
+   private static final int FRAMES = 5000;
+
+   public static void main(String[] args) {
+      Random random = new Random(42);
+      List<GameObject> objects = new ArrayList<GameObject>();
+      ZIndexOrder order = new ZIndexOrder();
+      for (int i = 0; i < OBJECTS; ++i) {
+         GameObject object = new GameObject();
+         object.setZIndex(random.nextInt(OBJECTS));
+         order.add(objects, object);
+      }
+      ZIndexComparator comparator = new ZIndexComparator();
+
+      run("ZIndexOrder", objects, random, WARMUP_FRAMES, comparator, order);
+      long incrementalTime = run("ZIndexOrder", objects, random, FRAMES, comparator, order);
+      run("Collections.sort", objects, random, WARMUP_FRAMES, comparator, null);
+      long sortTime = run("Collections.sort", objects, random, FRAMES, comparator, null);
+
+      System.out.println(String.format("%d objects, %d z-index changes per frame", OBJECTS, CHANGES_PER_FRAME));
+      System.out.println(String.format("Collections.sort: %8.2f us/frame", sortTime / 1000f / FRAMES));
+      System.out.println(String.format("ZIndexOrder:      %8.2f us/frame", incrementalTime / 1000f / FRAMES));
+   }
+
+   private static long run(String name, List<GameObject> objects, Random random, int frames,
+                           ZIndexComparator comparator, ZIndexOrder order) {
+      long total = 0;
+      for (int frame = 0; frame < frames; ++frame) {
+         for (int i = 0; i < CHANGES_PER_FRAME; ++i) {
+            GameObject object = objects.get(random.nextInt(objects.size()));
+            object.setZIndex(random.nextInt(OBJECTS));
+            if (order != null) {
+               order.invalidate(object);
+            }
+         }
+         long start = System.nanoTime();
+         if (order != null) {
+            order.restore(objects);
+         } else {
+            Collections.sort(objects, comparator);
+         }
+         total += System.nanoTime() - start;
+      }
+      for (int i = 1; i < objects.size(); ++i) {
+         if (comparator.compare(objects.get(i - 1), objects.get(i)) > 0) {
+            throw new IllegalStateException(name + " did not restore the order");
+         }
+      }
+      return total;
+   }
+}